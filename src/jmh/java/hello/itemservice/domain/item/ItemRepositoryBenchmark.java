@@ -0,0 +1,94 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 구현체별 save / findById / findAll / update 처리량
+ * 저장소 크기는 @Param, 스레드 수는 -PjmhThreads로 지정(스레드들이 하나의 저장소를 같이 사용)
+ * save는 측정하는 동안 저장소가 계속 커지므로 다른 연산과 달리 storeSize 이상에서의 값이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemRepositoryBenchmark {
+
+    @Param({"memory", "columnar", "partitioned"})
+    String type;
+
+    @Param({"10000", "1000000"})
+    int storeSize;
+
+    ItemRepository itemRepository;
+    long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository = create(type);
+        for (int i = 0; i < storeSize; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 1000000, i % 9999));
+        }
+        firstId = itemRepository.findPage(null, 1).getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itemRepository.clearStore();
+        if (itemRepository instanceof PartitionedItemRepository) {
+            ((PartitionedItemRepository) itemRepository).close();
+        }
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("itemNew", 10000, 10));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemRepository.findById(randomId());
+    }
+
+    /**
+     * 전체 조회는 크기에 비례하므로 1,000,000건에서는 ops/ms가 1보다 훨씬 작게 나옴
+     */
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    @Benchmark
+    public void update() {
+        int quantity = ThreadLocalRandom.current().nextInt(1, 9999);
+        itemRepository.update(randomId(), new Item("itemUpdated", 10000, quantity));
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(storeSize);
+    }
+
+    private static ItemRepository create(String type) {
+        switch (type) {
+            case "memory":
+                return new MemoryItemRepository();
+            case "columnar":
+                return new ColumnarItemRepository();
+            case "partitioned":
+                return new PartitionedItemRepository(0);
+            default:
+                throw new IllegalArgumentException("unknown repository type = " + type);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 검증 오류 응답 직렬화 : 기존 getAllErrors() 전체 vs CompactErrors(필드, 코드, 메시지)
+ * 모든 필드가 잘못된 ItemSaveForm의 오류 4개(필드 오류 3개 + totalPriceMin)를 JSON 바이트로 만드는 시간, 응답 크기는 시작할 때 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource();
+    List<ObjectError> errors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        messageSource.setBasenames("messages", "errors");
+        messageSource.afterPropertiesSet();
+
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(0);
+        form.setQuantity(10000);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()).validate(form, bindingResult);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 0}, null);
+        errors = bindingResult.getAllErrors();
+
+        System.out.println("payload bytes full = " + fullErrors().length + ", compact = " + compactErrors().length);
+    }
+
+    @Benchmark
+    public byte[] fullErrors() throws IOException {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+
+    @Benchmark
+    public byte[] compactErrors() throws IOException {
+        return objectMapper.writeValueAsBytes(new CompactErrors(errors, messageSource, Locale.KOREA));
+    }
+}
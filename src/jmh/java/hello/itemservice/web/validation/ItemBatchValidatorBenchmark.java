@@ -0,0 +1,63 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BindingResult;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일괄 검증 스레드 수별 처리 시간(목록 한 번 검증), 스레드 1이 순서대로 검증한 기준값
+ * 요소 10개 중 3개는 검증 오류
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemBatchValidatorBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1000", "100000"})
+    int batchSize;
+
+    ItemBatchValidator batchValidator;
+    List<ItemSaveForm> forms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemSaveFormValidator itemSaveFormValidator = new ItemSaveFormValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        batchValidator = new ItemBatchValidator(itemSaveFormValidator, new CachingMessageCodesResolver(), threads);
+
+        forms = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(i % 10 == 0 ? " " : "item" + i);
+            form.setPrice(i % 10 == 1 ? 100 : 10000);
+            form.setQuantity(i % 10 == 2 ? 10000 : 10);
+            forms.add(form);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchValidator.close();
+    }
+
+    @Benchmark
+    public BindingResult[] validate() {
+        return batchValidator.validate(forms);
+    }
+}
@@ -0,0 +1,118 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 요청/응답 포맷별(JSON, CBOR, Smile) 직렬화/파싱 시간
+ * form : /add 요청 바디(ItemSaveForm 1건), batch : /validate 요청 바디(ItemSaveForm 100건), errors : 검증 오류 응답(CompactErrors)
+ * 포맷별 바이트 수는 시작할 때 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemCodecBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    ObjectMapper objectMapper;
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource();
+
+    ItemSaveForm form;
+    List<ItemSaveForm> batch;
+    List<ObjectError> errors;
+    byte[] formBytes;
+    byte[] batchBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper(factory(format));
+        messageSource.setBasenames("messages", "errors");
+        messageSource.afterPropertiesSet();
+
+        form = form("itemA", 10000, 10);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(form("item" + i, 1000 + i * 10, i + 1));
+        }
+        ItemSaveForm invalid = form(" ", 0, 10000);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "item");
+        new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()).validate(invalid, bindingResult);
+        errors = bindingResult.getAllErrors();
+
+        formBytes = serializeForm();
+        batchBytes = serializeBatch();
+        System.out.printf("%s bytes : form = %d, batch = %d, errors = %d%n",
+                format, formBytes.length, batchBytes.length, serializeErrors().length);
+    }
+
+    @Benchmark
+    public byte[] serializeForm() throws IOException {
+        return objectMapper.writeValueAsBytes(form);
+    }
+
+    @Benchmark
+    public ItemSaveForm parseForm() throws IOException {
+        return objectMapper.readValue(formBytes, ItemSaveForm.class);
+    }
+
+    @Benchmark
+    public byte[] serializeBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public ItemSaveForm[] parseBatch() throws IOException {
+        return objectMapper.readValue(batchBytes, ItemSaveForm[].class);
+    }
+
+    @Benchmark
+    public byte[] serializeErrors() throws IOException {
+        return objectMapper.writeValueAsBytes(new CompactErrors(errors, messageSource, Locale.KOREA));
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,98 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 스프링 MVC 전체 경로(바인딩 + 검증 + 저장 + 뷰 이름/리다이렉트 결정)로 addItemV7, editV2 측정
+ * 실제 애플리케이션 컨텍스트를 띄우고 MockMvc로 요청하므로 네트워크/톰캣 처리 비용은 빠져 있다.
+ * 실패 경로는 검증 오류가 난 뒤 폼 뷰(Thymeleaf)까지 렌더링한다.
+ * 두 메서드 모두 비동기(CompletableFuture)로 처리되므로 asyncDispatch까지 측정하고, 상품명 중복 검증에 걸리지 않도록 이름을 겹치지 않게 보낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemControllerBenchmark {
+
+    private static final int EDIT_TARGETS = 1000;
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+    long firstEditId;
+    AtomicLong addSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .properties("server.port=0", "logging.level.hello.itemservice=warn", "spring.output.ansi.enabled=never")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        firstEditId = itemRepository.save(new Item("edit0", 10000, 10)).getId();
+        for (int i = 1; i < EDIT_TARGETS; i++) {
+            itemRepository.save(new Item("edit" + i, 10000, 10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult addItemV7() throws Exception {
+        return dispatch(mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "item" + addSequence.incrementAndGet())
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andReturn());
+    }
+
+    @Benchmark
+    public MvcResult addItemV7Invalid() throws Exception {
+        return dispatch(mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "")
+                        .param("price", "abc")
+                        .param("quantity", "99999"))
+                .andReturn());
+    }
+
+    @Benchmark
+    public MvcResult editV2() throws Exception {
+        long itemId = firstEditId + ThreadLocalRandom.current().nextInt(EDIT_TARGETS);
+        return dispatch(mockMvc.perform(post("/validation/v4/items/{itemId}/edit", itemId)
+                        .param("id", String.valueOf(itemId))
+                        .param("itemName", "edit" + (itemId - firstEditId))
+                        .param("price", "20000")
+                        .param("quantity", String.valueOf(ThreadLocalRandom.current().nextInt(1, 100))))
+                .andReturn());
+    }
+
+    private MvcResult dispatch(MvcResult started) throws Exception {
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemSaveForm 한 건 검증 : Hibernate Validator(SpringValidatorAdapter) vs 시작 시점에 컴파일한 검증기(CompiledBeanValidator)
+ * 요청당 할당량은 gc 프로파일러(gc.alloc.rate.norm, B/op)로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemFormValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    String payload;
+
+    SpringValidatorAdapter beanValidator;
+    CompiledBeanValidator compiledValidator;
+    ItemSaveForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        beanValidator = new SpringValidatorAdapter(factory.getValidator());
+        compiledValidator = new CompiledBeanValidator(factory);
+
+        form = new ItemSaveForm();
+        if ("valid".equals(payload)) {
+            form.setItemName("itemA");
+            form.setPrice(10000);
+            form.setQuantity(10);
+        } else {
+            form.setItemName(" ");
+            form.setPrice(0);
+            form.setQuantity(10000);
+        }
+    }
+
+    @Benchmark
+    public BindingResult beanValidation() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult compiled() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,98 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 같은 상품 20개 페이지/상품 1개를 HTML(v4 items.html, item.html)로 받을 때 vs 조회 API(JSON)로 받을 때
+ * 지연 시간과 연산당 할당량(gc 프로파일러의 gc.alloc.rate.norm)을 비교
+ * HTML 목록은 행 캐시(ItemRowCache)를 쓰는 실제 경로 그대로이고, ETag 헤더는 보내지 않으므로 매번 렌더링한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemReadApiBenchmark {
+
+    @Param({"10000"})
+    int itemCount;
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+    long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .properties("server.port=0", "logging.level.hello.itemservice=warn", "spring.output.ansi.enabled=never")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        firstId = itemRepository.save(new Item("item0", 10000, 10)).getId();
+        for (int i = 1; i < itemCount; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 1000000, i % 9999));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult htmlPage() throws Exception {
+        return mockMvc.perform(get("/validation/v4/items").param("lastId", String.valueOf(randomLastId()))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult jsonPage() throws Exception {
+        return mockMvc.perform(get("/validation/api/items").param("lastId", String.valueOf(randomLastId()))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult jsonPageProjected() throws Exception {
+        return mockMvc.perform(get("/validation/api/items").param("lastId", String.valueOf(randomLastId()))
+                .param("fields", "id,itemName")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult htmlItem() throws Exception {
+        return mockMvc.perform(get("/validation/v4/items/{itemId}", randomLastId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult jsonItem() throws Exception {
+        return mockMvc.perform(get("/validation/api/items/{itemId}", randomLastId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult jsonSearch() throws Exception {
+        return mockMvc.perform(get("/validation/api/items/search").param("itemName", "item99")).andReturn();
+    }
+
+    private long randomLastId() {
+        return firstId + ThreadLocalRandom.current().nextInt(itemCount - 20);
+    }
+}
@@ -0,0 +1,62 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemSaveForm 폼 바인딩 : 기본 바인더 vs NumberFastPathDataBinder
+ * garbage : price, quantity 둘 다 숫자가 아님(typeMismatch 2개), valid : 정상 값
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumberBindingBenchmark {
+
+    @Param({"garbage", "valid"})
+    String payload;
+
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+    CachingMessageCodesResolver messageCodesResolver = new CachingMessageCodesResolver();
+    MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean garbage = "garbage".equals(payload);
+        request = new MockHttpServletRequest("POST", "/validation/v4/items/add");
+        request.addParameter("itemName", "itemA");
+        request.addParameter("price", garbage ? "abc" : "10000");
+        request.addParameter("quantity", garbage ? "x1" : "10");
+    }
+
+    @Benchmark
+    public BindingResult defaultBinder() {
+        return bind(new ExtendedServletRequestDataBinder(new ItemSaveForm(), "item"));
+    }
+
+    @Benchmark
+    public BindingResult fastPathBinder() {
+        return bind(new NumberFastPathDataBinder(new ItemSaveForm(), "item"));
+    }
+
+    private BindingResult bind(ServletRequestDataBinder binder) {
+        binder.setConversionService(conversionService);
+        binder.setMessageCodesResolver(messageCodesResolver);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+}
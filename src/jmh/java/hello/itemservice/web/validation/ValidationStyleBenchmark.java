@@ -0,0 +1,153 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로젝트에 있는 검증 방식별 비용 비교(요청 한 건의 검증 단계 : BindingResult 생성 + 필드 검증 + 복합 룰)
+ * - fieldErrorMessage : V2 addItemV2, 기본 메시지를 넣은 new FieldError(...)를 직접 생성
+ * - fieldErrorCodes : V2 addItemV3, 메시지 코드 배열을 넣은 new FieldError(...)를 직접 생성
+ * - rejectValue     : V2 ItemValidator, rejectValue()로 MessageCodesResolver가 코드 생성
+ * - beanValidation  : V3, 도메인 객체에 그룹(SaveCheck)을 지정한 Bean Validation
+ * - beanValidationCompiled : V3 + (Item, SaveCheck) 검증 계획(CompiledBeanValidator, 현재 V3 기본값)
+ * - formBeanValidation : V4, 폼 객체(ItemSaveForm) + Bean Validation
+ * - formCompiled    : V4 폼 객체 + 시작 시점에 컴파일한 검증기(CompiledBeanValidator, 현재 V4 기본값)
+ *
+ * 처리량(Throughput)과 지연 분포(SampleTime, p50 ~ p99.99)를 같이 측정하고 연산당 할당량은 gc 프로파일러로 기록한다.
+ * 저장, 뷰 렌더링 비용은 방식과 관계없이 같으므로 제외(전체 경로는 ItemControllerBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationStyleBenchmark {
+
+    @Param({"valid", "invalid"})
+    String payload;
+
+    ItemValidator itemValidator = new ItemValidator();
+    SpringValidatorAdapter beanValidator;
+    CompiledBeanValidator compiledValidator;
+
+    Item item;
+    ItemSaveForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        beanValidator = new SpringValidatorAdapter(factory.getValidator());
+        compiledValidator = new CompiledBeanValidator(factory);
+
+        boolean valid = "valid".equals(payload);
+        String itemName = valid ? "itemA" : " ";
+        Integer price = valid ? 10000 : 0;
+        Integer quantity = valid ? 10 : 10000;     // 잘못된 값이면 가격 * 수량 복합 룰도 실패
+
+        item = new Item(itemName, price, quantity);
+        form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+    }
+
+    @Benchmark
+    public BindingResult fieldErrorMessage() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        if (!StringUtils.hasText(item.getItemName())) {
+            bindingResult.addError(new FieldError("item", "itemName", item.getItemName(), false, null, null, "상품 이름은 필수입니다."));
+        }
+        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
+            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, null, null, "가격은 1,000 ~ 1,000,000 까지 허용합니다."));
+        }
+        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
+            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, null, null, "수량은 최대 9,999 까지 허용합니다"));
+        }
+        if (item.getPrice() != null && item.getQuantity() != null) {
+            int resultPrice = item.getPrice() * item.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.addError(new ObjectError("item", null, null, "가격 x 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
+            }
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult fieldErrorCodes() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        if (!StringUtils.hasText(item.getItemName())) {
+            bindingResult.addError(new FieldError("item", "itemName", item.getItemName(), false, new String[]{"required.item.itemName"}, null, null));
+        }
+        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000) {
+            bindingResult.addError(new FieldError("item", "price", item.getPrice(), false, new String[]{"range.item.price"}, new Object[]{1000, 1000000}, null));
+        }
+        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
+            bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false, new String[]{"max.item.quantity"}, new Object[]{9999}, null));
+        }
+        if (item.getPrice() != null && item.getQuantity() != null) {
+            int resultPrice = item.getPrice() * item.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.addError(new ObjectError("item", new String[]{"totalPriceMin"}, new Object[]{10000, resultPrice}, null));
+            }
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult rejectValue() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult beanValidation() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, bindingResult, SaveCheck.class);
+        ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult beanValidationCompiled() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        compiledValidator.validate(item, bindingResult, SaveCheck.class);
+        ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult formBeanValidation() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, bindingResult);
+        ItemRules.TOTAL_PRICE_MIN.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult formCompiled() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+        ItemRules.TOTAL_PRICE_MIN.validate(form, bindingResult);
+        return bindingResult;
+    }
+}
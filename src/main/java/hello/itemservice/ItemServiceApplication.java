@@ -1,13 +1,67 @@
 package hello.itemservice;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.NumberFastPathDataBinder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
 
 @SpringBootApplication
-public class ItemServiceApplication {
+public class ItemServiceApplication implements WebMvcConfigurer {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ItemServiceApplication.class, args);
 	}
 
+	// 모든 데이터 바인더(rejectValue, reject, Bean Validation 오류)가 같은 메시지 코드 캐시를 사용
+	@Bean
+	public MessageCodesResolver messageCodesResolver() {
+		return new CachingMessageCodesResolver();
+	}
+
+	@Override
+	public MessageCodesResolver getMessageCodesResolver() {
+		return messageCodesResolver();
+	}
+
+	// Item, ItemSaveForm, ItemUpdateForm을 바인딩할 때는 숫자 필드를 예외 없이 검사하는 바인더 사용
+	@Bean
+	public WebMvcRegistrations numberFastPathRegistrations() {
+		return new WebMvcRegistrations() {
+			@Override
+			public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+				return new RequestMappingHandlerAdapter() {
+					@Override
+					protected ServletRequestDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+						return new NumberFastPathDataBinder.Factory(binderMethods, getWebBindingInitializer());
+					}
+				};
+			}
+		};
+	}
+
+	// API 요청/응답을 JSON 대신 CBOR(application/cbor), Smile(application/x-jackson-smile)로도 주고받음(Content-Type, Accept로 선택)
+	// 스프링 기본 컨버터를 대신해서 spring.jackson.* 설정이 JSON과 똑같이 적용되도록 부트의 ObjectMapper 빌더로 만든다.
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
 }
@@ -18,6 +18,10 @@ public class TestDataInit {
      */
     @PostConstruct
     public void init() {
+        // 디스크에서 복구된 데이터가 있으면(item.repository.type=durable) 다시 넣지 않음
+        if (!itemRepository.findPage(null, 1).getItems().isEmpty()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
@@ -0,0 +1,481 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 대용량 카탈로그용 컬럼형 저장소(item.repository.type=columnar)
+ * 상품 하나당 Item, Long, Integer, 맵 엔트리 객체를 만드는 대신 가격/수량은 int[] 컬럼, 상품명은 하나의 byte[] 영역(UTF-8)에 저장한다.
+ * id는 순차 발급이라 행 번호 = id - firstId 로 바로 찾아가고, Item은 조회할 때만 만들어서 돌려준다.(반환된 Item을 수정해도 저장소에는 반영되지 않음)
+ *
+ * 쓰기는 StampedLock 쓰기 락으로 직렬화, findById는 낙관적 읽기로 락 없이 처리하고 나머지 조회는 읽기 락을 잡는다.
+ * 상품명 조건은 상품명 인덱스(ItemIndex)로 후보 행만 보고, 나머지 검색은 원시 타입 배열을 순차 스캔한다.(조건에 맞는 행만 Item으로 만듦)
+ * 상품명 인덱스는 쓰기 락 안에서만 고치므로 읽기 락을 잡은 조회에서는 배열과 항상 맞는다.
+ */
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "columnar")
+public class ColumnarItemRepository implements ItemRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 2;
+    private static final byte QUANTITY_NULL = 4;
+
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder updateConflicts = new LongAdder();
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ItemIndex nameIndex = new ItemIndex();    // 상품명만 넣음(가격, 수량은 스캔)
+
+    private long sequence;
+    private volatile long storeVersion;     // 쓰기 락 안에서만 올림
+    private long firstId = 1;   // 0번 행의 id(clearStore 이후에도 id는 이어서 발급)
+    private int size;
+
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] versions = new int[INITIAL_CAPACITY];     // 상품 버전(수정 횟수 + 1이라 int로 충분)
+    private byte[] nullFlags = new byte[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+
+    // 상품명 영역, 수정하면 새 이름을 뒤에 붙이고 이전 이름은 garbage로 남겼다가 영역을 늘릴 때 압축
+    private byte[] nameArena = new byte[INITIAL_CAPACITY * 16];
+    private int arenaUsed;
+    private int arenaGarbage;
+
+    @Override
+    public Item save(Item item) {
+        byte[] name = encode(item.getItemName());
+
+        long stamp = lock.writeLock();
+        try {
+            long id = ++sequence;
+            int row = (int) (id - firstId);
+            ensureCapacity(row + 1);
+            writeRow(row, name, item.getPrice(), item.getQuantity());
+            versions[row] = 1;
+            size = row + 1;
+            nameIndex.add(id, item.getItemName(), null, null);
+            item.setId(id);
+            item.setVersion(1L);
+            storeVersion++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        fireChanged(item.getId());
+        return item;
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        byte[][] names = new byte[items.size()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = encode(items.get(i).getItemName());
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + items.size());
+            for (int i = 0; i < names.length; i++) {
+                Item item = items.get(i);
+                long id = ++sequence;
+                int row = (int) (id - firstId);
+                writeRow(row, names[i], item.getPrice(), item.getQuantity());
+                versions[row] = 1;
+                size = row + 1;
+                nameIndex.add(id, item.getItemName(), null, null);
+                item.setId(id);
+                item.setVersion(1L);
+            }
+            storeVersion++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (Item item : items) {
+            fireChanged(item.getId());
+        }
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Item item = readOptimistically(id);
+            if (lock.validate(stamp)) {
+                return item;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            int row = rowOf(id);
+            return row < 0 ? null : materialize(row);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        long stamp = lock.readLock();
+        try {
+            List<Item> items = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                items.add(materialize(row));
+            }
+            return items;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ItemPage findPage(Long lastId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        long stamp = lock.readLock();
+        try {
+            int start = (lastId == null) ? 0 : (int) Math.max(0, Math.min(this.size, lastId - firstId + 1));
+            int end = (int) Math.min(this.size, (long) start + size);
+
+            List<Item> items = new ArrayList<>(end - start);
+            for (int row = start; row < end; row++) {
+                items.add(materialize(row));
+            }
+            Long nextId = (end < this.size && !items.isEmpty()) ? firstId + end - 1 : null;
+            return new ItemPage(items, nextId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        RowMatcher matcher = new RowMatcher(cond);
+
+        long stamp = lock.readLock();
+        try {
+            List<Item> result = new ArrayList<>();
+            if (cond.hasItemName()) {
+                // 상품명 인덱스로 후보 행만 확인(상품명 순이라 id 순으로 다시 정렬)
+                List<Long> ids = nameIndex.itemNameIds(cond.getItemName(), cond.isItemNameExact());
+                ids.sort(null);
+                for (Long id : ids) {
+                    int row = rowOf(id);
+                    if (row >= 0 && matcher.matches(row)) {
+                        result.add(materialize(row));
+                    }
+                }
+                return result;
+            }
+            for (int row = 0; row < size; row++) {
+                if (matcher.matches(row)) {
+                    result.add(materialize(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 상품명 조건이 있으면 처음에 후보 id만 정렬해 두고, 없으면 행을 lastId 다음부터 훑는다.(페이지마다 읽기 락을 따로 잡음)
+     */
+    @Override
+    public Iterator<Item> iterator(ItemSearchCond cond, int pageSize) {
+        RowMatcher matcher = new RowMatcher(cond);
+        if (!cond.hasItemName()) {
+            return new ItemPageIterator((lastId, limit) -> scanPage(matcher, lastId, limit), pageSize);
+        }
+        long[] ids = ItemIndex.sortedIds(nameIndex.itemNameIds(cond.getItemName(), cond.isItemNameExact()));
+        return new ItemPageIterator((lastId, limit) -> candidatePage(matcher, ids, lastId, limit), pageSize);
+    }
+
+    private ItemPage scanPage(RowMatcher matcher, Long lastId, int pageSize) {
+        long stamp = lock.readLock();
+        try {
+            int start = (lastId == null) ? 0 : (int) Math.max(0, Math.min(size, lastId - firstId + 1));
+            List<Item> items = new ArrayList<>();
+            for (int row = start; row < size; row++) {
+                if (!matcher.matches(row)) {
+                    continue;
+                }
+                if (items.size() == pageSize) {
+                    return new ItemPage(items, items.get(pageSize - 1).getId());
+                }
+                items.add(materialize(row));
+            }
+            return new ItemPage(items, null);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private ItemPage candidatePage(RowMatcher matcher, long[] ids, Long lastId, int pageSize) {
+        long stamp = lock.readLock();
+        try {
+            List<Item> items = new ArrayList<>();
+            for (int i = ItemIndex.indexAfter(ids, lastId); i < ids.length; i++) {
+                int row = rowOf(ids[i]);
+                if (row < 0 || !matcher.matches(row)) {
+                    continue;
+                }
+                if (items.size() == pageSize) {
+                    return new ItemPage(items, items.get(pageSize - 1).getId());
+                }
+                items.add(materialize(row));
+            }
+            return new ItemPage(items, null);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * updateParam에 version이 있으면 현재 버전과 같을 때만 반영(다르면 ItemVersionConflictException)
+     * 쓰기 락 안에서 비교하고 바꾸기 때문에 재시도는 필요 없다.
+     */
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        byte[] name = encode(updateParam.getItemName());
+
+        long stamp = lock.writeLock();
+        try {
+            int row = rowOf(itemId);
+            if (row < 0) {
+                return;
+            }
+            Long expectedVersion = updateParam.getVersion();
+            if (expectedVersion != null && expectedVersion != versions[row]) {
+                updateConflicts.increment();
+                throw new ItemVersionConflictException(itemId, expectedVersion, (long) versions[row]);
+            }
+            String oldItemName = null;
+            if ((nullFlags[row] & NAME_NULL) == 0) {
+                oldItemName = new String(nameArena, nameOffsets[row], nameLengths[row], StandardCharsets.UTF_8);
+                arenaGarbage += nameLengths[row];
+                nullFlags[row] |= NAME_NULL;    // 압축이 일어나도 이전 이름은 옮기지 않도록
+            }
+            writeRow(row, name, updateParam.getPrice(), updateParam.getQuantity());
+            nameIndex.replace(itemId, oldItemName, null, null, updateParam.getItemName(), null, null);
+            updateParam.setVersion((long) ++versions[row]);
+            storeVersion++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        fireChanged(itemId);
+    }
+
+    @Override
+    public void clearStore() {
+        long stamp = lock.writeLock();
+        try {
+            firstId = sequence + 1;
+            size = 0;
+            arenaUsed = 0;
+            arenaGarbage = 0;
+            nameIndex.clear();
+            storeVersion++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        fireChanged(null);
+    }
+
+    /**
+     * 쓰기 락을 잡은 동안 올리므로 이 값을 읽은 뒤의 조회(읽기 락, 낙관적 읽기)는 그 쓰기 이후의 내용을 본다.
+     */
+    @Override
+    public long getStoreVersion() {
+        return storeVersion;
+    }
+
+    @Override
+    public void addChangeListener(ItemChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void fireChanged(Long itemId) {
+        for (ItemChangeListener listener : listeners) {
+            listener.itemChanged(itemId);
+        }
+    }
+
+    public long getUpdateConflictCount() {
+        return updateConflicts.sum();
+    }
+
+    /**
+     * 락 없이 읽는 중에 쓰기가 끼어들면 배열 길이와 size가 안 맞을 수 있음
+     * 이때 생기는 예외나 값은 버리고(validate 실패) 읽기 락으로 다시 읽는다.
+     */
+    private Item readOptimistically(Long id) {
+        try {
+            int row = rowOf(id);
+            return row < 0 ? null : materialize(row);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private int rowOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        long row = id - firstId;
+        return (row < 0 || row >= size) ? -1 : (int) row;
+    }
+
+    private Item materialize(int row) {
+        byte flags = nullFlags[row];
+        String itemName = (flags & NAME_NULL) != 0 ? null
+                : new String(nameArena, nameOffsets[row], nameLengths[row], StandardCharsets.UTF_8);
+        Integer price = (flags & PRICE_NULL) != 0 ? null : prices[row];
+        Integer quantity = (flags & QUANTITY_NULL) != 0 ? null : quantities[row];
+
+        Item item = new Item(itemName, price, quantity);
+        item.setId(firstId + row);
+        item.setVersion((long) versions[row]);
+        return item;
+    }
+
+    private void writeRow(int row, byte[] name, Integer price, Integer quantity) {
+        byte flags = 0;
+        if (name == null) {
+            flags |= NAME_NULL;
+            nameLengths[row] = 0;
+        } else {
+            nameOffsets[row] = appendName(name);
+            nameLengths[row] = name.length;
+        }
+        if (price == null) {
+            flags |= PRICE_NULL;
+        } else {
+            prices[row] = price;
+        }
+        if (quantity == null) {
+            flags |= QUANTITY_NULL;
+        } else {
+            quantities[row] = quantity;
+        }
+        nullFlags[row] = flags;
+    }
+
+    private int appendName(byte[] name) {
+        if (arenaUsed + name.length > nameArena.length) {
+            if (arenaGarbage > arenaUsed / 2) {
+                compactArena(name.length);
+            }
+            if (arenaUsed + name.length > nameArena.length) {
+                nameArena = Arrays.copyOf(nameArena, Math.max(nameArena.length * 2, arenaUsed + name.length));
+            }
+        }
+        int offset = arenaUsed;
+        System.arraycopy(name, 0, nameArena, offset, name.length);
+        arenaUsed += name.length;
+        return offset;
+    }
+
+    /**
+     * 수정으로 버려진 상품명을 걷어내고 살아있는 이름만 새 영역으로 옮김
+     */
+    private void compactArena(int extra) {
+        byte[] compacted = new byte[Math.max(nameArena.length, (arenaUsed - arenaGarbage + extra) * 2)];
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            if ((nullFlags[row] & NAME_NULL) != 0) {
+                continue;
+            }
+            System.arraycopy(nameArena, nameOffsets[row], compacted, used, nameLengths[row]);
+            nameOffsets[row] = used;
+            used += nameLengths[row];
+        }
+        nameArena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= prices.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, prices.length * 2);
+        prices = Arrays.copyOf(prices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+        nullFlags = Arrays.copyOf(nullFlags, newCapacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, newCapacity);
+        nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+    }
+
+    private boolean nameEquals(int row, byte[] name) {
+        return nameLengths[row] == name.length && nameStartsWith(row, name);
+    }
+
+    private boolean nameStartsWith(int row, byte[] prefix) {
+        if (nameLengths[row] < prefix.length) {
+            return false;
+        }
+        int offset = nameOffsets[row];
+        for (int i = 0; i < prefix.length; i++) {
+            if (nameArena[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encode(String itemName) {
+        return itemName == null ? null : itemName.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 검색 조건을 원시 타입으로 풀어 둔 행 필터(읽기 락을 잡은 상태에서만 호출)
+     */
+    private final class RowMatcher {
+
+        private final boolean priceRange;
+        private final int minPrice;
+        private final int maxPrice;
+        private final boolean quantityRange;
+        private final int minQuantity;
+        private final int maxQuantity;
+        private final byte[] name;
+        private final boolean exact;
+
+        RowMatcher(ItemSearchCond cond) {
+            priceRange = cond.hasPriceRange();
+            minPrice = cond.getMinPrice() == null ? Integer.MIN_VALUE : cond.getMinPrice();
+            maxPrice = cond.getMaxPrice() == null ? Integer.MAX_VALUE : cond.getMaxPrice();
+            quantityRange = cond.hasQuantityRange();
+            minQuantity = cond.getMinQuantity() == null ? Integer.MIN_VALUE : cond.getMinQuantity();
+            maxQuantity = cond.getMaxQuantity() == null ? Integer.MAX_VALUE : cond.getMaxQuantity();
+            name = cond.hasItemName() ? encode(cond.getItemName()) : null;
+            exact = cond.isItemNameExact();
+        }
+
+        boolean matches(int row) {
+            byte flags = nullFlags[row];
+            if (priceRange && ((flags & PRICE_NULL) != 0 || prices[row] < minPrice || prices[row] > maxPrice)) {
+                return false;
+            }
+            if (quantityRange && ((flags & QUANTITY_NULL) != 0 || quantities[row] < minQuantity || quantities[row] > maxQuantity)) {
+                return false;
+            }
+            return name == null || ((flags & NAME_NULL) == 0 && (exact ? nameEquals(row, name) : nameStartsWith(row, name)));
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재시작해도 데이터가 남는 저장소(item.repository.type=durable)
+ * 조회는 메모리 저장소(MemoryItemRepository)가 처리하고, save/update는 로그(ItemWriteAheadLog)에 남겨 디스크에 force된 다음에
+ * 메모리에 반영하고 반환한다.(write-ahead) 그래서 조회에 보이는 변경은 항상 디스크에 있고, 로그 쓰기가 실패한 변경은 메모리에도 반영되지 않는다.
+ * 백그라운드 작업이 주기적으로 로그를 스냅샷 파일로 압축하고, 시작할 때는 스냅샷을 매핑해서 읽은 뒤 그 이후 로그 꼬리만 재실행한다.
+ * 재실행할 로그 양은 압축 주기 동안 쌓인 만큼으로 제한된다.(전체 변경 이력이 아님)
+ * 단, 조회는 메모리 저장소가 처리하기 때문에 스냅샷의 상품을 모두 메모리에 올리는 시간은 상품 수에 비례한다.
+ * 복구 시간 = 스냅샷 적재(상품 수에 비례) + 로그 꼬리 재실행(압축 이후 변경 수에 비례), 둘을 나눠서 로그로 남긴다.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "durable")
+public class DurableItemRepository implements ItemRepository {
+
+    private final MemoryItemRepository memory = new MemoryItemRepository();
+    private final Path dir;
+    private final long compactIntervalMillis;
+    private final ItemSnapshotFile snapshotFile;
+
+    // 로그 큐 등록 순서를 정하는 락(디스크 쓰기/fsync는 락 밖에서 기다림), 아래 네 필드도 이 락으로 보호
+    private final Object appendLock = new Object();
+    // 로그에 넣었지만 아직 메모리에 반영하지 않은 쓰기(로그 순서대로)
+    private final ArrayDeque<PendingWrite> pendingWrites = new ArrayDeque<>();
+    // 메모리에 반영되기 전 쓰기까지 포함한 상품별 최신 레코드(수정할 때 버전 비교, 없는 상품 판단용)
+    private final Map<Long, ItemLogRecord> pendingItems = new HashMap<>();
+    private int pendingClears;
+    private long sequence;  // 마지막으로 발급한 id
+
+    private final AtomicLong appendedSinceCompaction = new AtomicLong();
+    private final LongAdder updateConflicts = new LongAdder();
+
+    private ItemWriteAheadLog writeAheadLog;
+    private ScheduledExecutorService compactor;
+
+    // 마지막 복구 결과
+    private long recoveredItemCount;
+    private long replayedRecordCount;
+    private long snapshotLoadMillis;
+    private long replayMillis;
+
+    public DurableItemRepository(@Value("${item.repository.durable.dir:./data}") String dir,
+                                 @Value("${item.repository.durable.compact-interval-ms:60000}") long compactIntervalMillis) {
+        this.dir = Paths.get(dir);
+        this.compactIntervalMillis = compactIntervalMillis;
+        this.snapshotFile = new ItemSnapshotFile(this.dir);
+    }
+
+    /**
+     * 스냅샷 + 로그 꼬리로 복구한 뒤 새 로그 세그먼트를 열고 압축 작업 시작
+     */
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long startTime = System.currentTimeMillis();
+        AtomicLong recovered = new AtomicLong();
+        ItemSnapshotFile.Header header = snapshotFile.read(item -> {
+            memory.restore(item);
+            recovered.incrementAndGet();
+        });
+        long fromSegment = 1;
+        if (header != null) {
+            memory.restoreSequence(header.sequence);
+            fromSegment = header.nextSegment;
+        }
+        long snapshotLoadedTime = System.currentTimeMillis();
+
+        AtomicLong replayed = new AtomicLong();
+        long lastSegment = ItemWriteAheadLog.replay(dir, fromSegment, record -> {
+            redo(record);
+            replayed.incrementAndGet();
+        });
+        sequence = memory.currentSequence();
+        writeAheadLog = new ItemWriteAheadLog(dir, lastSegment + 1);
+
+        recoveredItemCount = recovered.get();
+        replayedRecordCount = replayed.get();
+        snapshotLoadMillis = snapshotLoadedTime - startTime;
+        replayMillis = System.currentTimeMillis() - snapshotLoadedTime;
+        log.info("저장소 복구 완료 dir = {}, 스냅샷 상품 = {}건 {}ms, 재실행 로그 = {}건 {}ms",
+                dir.toAbsolutePath(), recoveredItemCount, snapshotLoadMillis, replayedRecordCount, replayMillis);
+
+        if (compactIntervalMillis > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "item-wal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly, compactIntervalMillis, compactIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        writeAheadLog.close();
+    }
+
+    @Override
+    public Item save(Item item) {
+        ItemLogRecord record;
+        PendingWrite write;
+        synchronized (appendLock) {
+            record = ItemLogRecord.save(++sequence, item);
+            write = append(List.of(record));
+        }
+        awaitDurable(write);
+        item.setId(record.id);
+        item.setVersion(record.version);
+        return item;
+    }
+
+    /**
+     * 여러 건의 로그 레코드를 한 번에 큐에 넣어서 fsync 한 번으로 처리
+     */
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<ItemLogRecord> records = new ArrayList<>(items.size());
+        PendingWrite write;
+        synchronized (appendLock) {
+            for (Item item : items) {
+                records.add(ItemLogRecord.save(++sequence, item));
+            }
+            write = append(records);
+        }
+        awaitDurable(write);
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(records.get(i).id);
+            items.get(i).setVersion(records.get(i).version);
+        }
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return memory.findAll();
+    }
+
+    @Override
+    public ItemPage findPage(Long lastId, int size) {
+        return memory.findPage(lastId, size);
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return memory.findAll(cond);
+    }
+
+    @Override
+    public Iterator<Item> iterator(ItemSearchCond cond, int pageSize) {
+        return memory.iterator(cond, pageSize);
+    }
+
+    /**
+     * 버전 충돌이면 로그에 남기기 전에 ItemVersionConflictException, 없는 상품이면 로그에 남기지 않고 아무것도 하지 않음
+     * 성공하면 updateParam의 version이 새 버전으로 바뀐다.(메모리 저장소와 같음)
+     */
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        ItemLogRecord record;
+        PendingWrite write;
+        synchronized (appendLock) {
+            Long currentVersion = currentVersion(itemId);
+            if (currentVersion == null) {
+                return;
+            }
+            Long expectedVersion = updateParam.getVersion();
+            if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+                updateConflicts.increment();
+                throw new ItemVersionConflictException(itemId, expectedVersion, currentVersion);
+            }
+            record = ItemLogRecord.update(itemId, currentVersion + 1, updateParam);
+            write = append(List.of(record));
+        }
+        awaitDurable(write);
+        updateParam.setVersion(record.version);
+    }
+
+    @Override
+    public void clearStore() {
+        PendingWrite write;
+        synchronized (appendLock) {
+            write = append(List.of(ItemLogRecord.clear(sequence)));
+        }
+        awaitDurable(write);
+    }
+
+    @Override
+    public long getStoreVersion() {
+        return memory.getStoreVersion();
+    }
+
+    @Override
+    public void addChangeListener(ItemChangeListener listener) {
+        memory.addChangeListener(listener);
+    }
+
+    public long getUpdateConflictCount() {
+        return updateConflicts.sum();
+    }
+
+    long getRecoveredItemCount() {
+        return recoveredItemCount;
+    }
+
+    long getReplayedRecordCount() {
+        return replayedRecordCount;
+    }
+
+    long getSnapshotLoadMillis() {
+        return snapshotLoadMillis;
+    }
+
+    long getReplayMillis() {
+        return replayMillis;
+    }
+
+    /**
+     * 로그를 스냅샷으로 압축
+     * 1. 락 안에서 로그 세그먼트 전환만 요청(이후 변경은 전부 새 세그먼트로 감)
+     * 2. 락 밖에서 메모리 저장소를 읽어 스냅샷 작성, 그 사이 변경이 일부 섞여도 새 세그먼트 재실행으로 덮어써진다.(레코드는 전체 값이라 재실행해도 결과가 같음)
+     * 3. 스냅샷에 반영된 이전 세그먼트 삭제
+     */
+    public void compact() {
+        if (appendedSinceCompaction.getAndSet(0) == 0) {
+            return;
+        }
+
+        CompletableFuture<Long> rotated;
+        synchronized (appendLock) {
+            rotated = writeAheadLog.rotate();
+        }
+        long nextSegment = rotated.join();
+        applyDurable();     // 이전 세그먼트의 레코드는 모두 force됐으므로 메모리에 다 반영한 뒤 스냅샷을 뜸
+
+        List<Item> items = memory.findAll();
+        long sequence = memory.currentSequence();
+        snapshotFile.write(items, sequence, nextSegment);
+        writeAheadLog.deleteSegmentsBefore(nextSegment);
+        log.info("로그 압축 완료 상품 = {}건, 다음 세그먼트 = {}", items.size(), nextSegment);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("로그 압축 실패", e);
+        }
+    }
+
+    /**
+     * appendLock 안에서 호출 : 로그 큐에 넣고 반영 대기 목록에 추가
+     */
+    private PendingWrite append(List<ItemLogRecord> records) {
+        PendingWrite write = new PendingWrite(records, writeAheadLog.append(records));
+        pendingWrites.add(write);
+        for (ItemLogRecord record : records) {
+            if (record.op == ItemLogRecord.CLEAR) {
+                pendingItems.clear();
+                pendingClears++;
+            } else {
+                pendingItems.put(record.id, record);
+            }
+        }
+        return write;
+    }
+
+    /**
+     * appendLock 안에서 호출 : 메모리에 반영되기 전 쓰기까지 포함한 현재 버전, 없는 상품이면 null
+     */
+    private Long currentVersion(Long itemId) {
+        ItemLogRecord pending = pendingItems.get(itemId);
+        if (pending != null) {
+            return pending.version;
+        }
+        if (pendingClears > 0) {
+            return null;
+        }
+        Item item = memory.findById(itemId);
+        return item == null ? null : item.getVersion();
+    }
+
+    /**
+     * force될 때까지 기다린 뒤 메모리에 반영, 로그 쓰기가 실패했으면 반영하지 않고 예외를 그대로 던짐
+     */
+    private void awaitDurable(PendingWrite write) {
+        try {
+            write.written.join();
+        } finally {
+            applyDurable();
+        }
+        appendedSinceCompaction.incrementAndGet();
+    }
+
+    /**
+     * force가 끝난 쓰기를 로그 순서대로 메모리에 반영(복구할 때와 같은 redo), 실패한 쓰기는 버림
+     * 로그 쓰기 스레드는 큐 순서대로 완료시키므로 내 쓰기가 끝났으면 앞선 쓰기도 다 끝나 있다.
+     * 그래서 먼저 끝난 스레드가 앞선 쓰기까지 한꺼번에 반영하고, 다른 스레드가 반영해 주기를 기다리는 일은 없다.
+     */
+    private void applyDurable() {
+        synchronized (appendLock) {
+            PendingWrite head;
+            while ((head = pendingWrites.peek()) != null && head.written.isDone()) {
+                pendingWrites.poll();
+                boolean durable = !head.written.isCompletedExceptionally();
+                for (ItemLogRecord record : head.records) {
+                    if (durable) {
+                        redo(record);
+                    }
+                    if (record.op == ItemLogRecord.CLEAR) {
+                        pendingClears--;
+                    } else {
+                        pendingItems.remove(record.id, record);
+                    }
+                }
+            }
+        }
+    }
+
+    private void redo(ItemLogRecord record) {
+        switch (record.op) {
+            case ItemLogRecord.SAVE:
+                memory.restore(record.toItem());
+                break;
+            case ItemLogRecord.UPDATE:
+                // 버전까지 그대로 덮어씀(update로 재실행하면 레코드의 버전을 기대 버전으로 비교하게 됨)
+                if (memory.findById(record.id) != null) {
+                    memory.restore(record.toItem());
+                }
+                break;
+            case ItemLogRecord.CLEAR:
+                memory.clearStore();
+                memory.restoreSequence(record.id);
+                break;
+            default:
+                throw new IllegalStateException("unknown log record op = " + record.op);
+        }
+    }
+
+    private static class PendingWrite {
+
+        final List<ItemLogRecord> records;
+        final CompletableFuture<Long> written;
+
+        PendingWrite(List<ItemLogRecord> records, CompletableFuture<Long> written) {
+            this.records = records;
+            this.written = written;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 저장소 변경 알림(렌더링 캐시 무효화 등)
+ * 변경이 조회에 보이게 된 뒤, 쓰기 스레드에서 호출되므로 오래 걸리는 작업은 하지 않는다.
+ */
+@FunctionalInterface
+public interface ItemChangeListener {
+
+    /**
+     * @param itemId 저장/수정된 상품 id, clearStore면 null
+     */
+    void itemChanged(Long itemId);
+}
@@ -0,0 +1,196 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품 필드 보조 인덱스(가격, 수량은 정렬 인덱스, 상품명은 접두사/일치 인덱스)
+ * (값, id) 쌍을 정렬된 ConcurrentSkipListSet에 넣어두고 범위/접두사/일치 조회를 O(log n + 결과 수)로 처리한다.
+ * 인덱스에서 찾은 id는 후보일 뿐이라서 호출하는 쪽에서 실제 값으로 다시 확인해야 한다.(수정 도중의 오래된 엔트리 방어)
+ */
+class ItemIndex {
+
+    private final ConcurrentSkipListSet<Entry<Integer>> priceIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Entry<Integer>> quantityIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Entry<String>> itemNameIndex = new ConcurrentSkipListSet<>();
+
+    void add(Long id, String itemName, Integer price, Integer quantity) {
+        if (price != null) {
+            priceIndex.add(new Entry<>(price, id));
+        }
+        if (quantity != null) {
+            quantityIndex.add(new Entry<>(quantity, id));
+        }
+        if (itemName != null) {
+            itemNameIndex.add(new Entry<>(itemName, id));
+        }
+    }
+
+    void remove(Long id, String itemName, Integer price, Integer quantity) {
+        if (price != null) {
+            priceIndex.remove(new Entry<>(price, id));
+        }
+        if (quantity != null) {
+            quantityIndex.remove(new Entry<>(quantity, id));
+        }
+        if (itemName != null) {
+            itemNameIndex.remove(new Entry<>(itemName, id));
+        }
+    }
+
+    /**
+     * 값이 바뀐 필드만 새 엔트리를 먼저 넣고 옛 엔트리를 지움(조회 중에 상품이 인덱스에서 잠깐 사라지지 않게)
+     * 같은 값이면 (값, id) 엔트리가 같아서 add 후 remove하면 엔트리가 없어지므로 건너뛴다.
+     */
+    void replace(Long id, String oldItemName, Integer oldPrice, Integer oldQuantity,
+                 String itemName, Integer price, Integer quantity) {
+        replace(priceIndex, id, oldPrice, price);
+        replace(quantityIndex, id, oldQuantity, quantity);
+        replace(itemNameIndex, id, oldItemName, itemName);
+    }
+
+    private static <V extends Comparable<V>> void replace(ConcurrentSkipListSet<Entry<V>> index, Long id, V oldValue, V value) {
+        if (Objects.equals(oldValue, value)) {
+            return;
+        }
+        if (value != null) {
+            index.add(new Entry<>(value, id));
+        }
+        if (oldValue != null) {
+            index.remove(new Entry<>(oldValue, id));
+        }
+    }
+
+    void clear() {
+        priceIndex.clear();
+        quantityIndex.clear();
+        itemNameIndex.clear();
+    }
+
+    /**
+     * 검색 조건에 맞는 후보 id 목록, 사용할 수 있는 인덱스가 없으면 null
+     * 상품명 일치 -> 가격 -> 수량 -> 상품명 접두사 순으로 하나의 인덱스만 타고, 나머지 조건은 호출하는 쪽에서 거른다.
+     */
+    List<Long> findCandidateIds(ItemSearchCond cond) {
+        if (cond.hasItemName() && cond.isItemNameExact()) {
+            return itemNameIds(cond.getItemName(), true);
+        }
+        if (cond.hasPriceRange()) {
+            return rangeIds(priceIndex, cond.getMinPrice(), cond.getMaxPrice());
+        }
+        if (cond.hasQuantityRange()) {
+            return rangeIds(quantityIndex, cond.getMinQuantity(), cond.getMaxQuantity());
+        }
+        if (cond.hasItemName()) {
+            return itemNameIds(cond.getItemName(), false);
+        }
+        return null;
+    }
+
+    /**
+     * 상품명 인덱스만 조회(exact면 같은 상품명, 아니면 접두사), 결과는 상품명 순
+     */
+    List<Long> itemNameIds(String itemName, boolean exact) {
+        if (exact) {
+            return exactIds(itemName);
+        }
+        return prefixIds(itemName);
+    }
+
+    private List<Long> rangeIds(ConcurrentSkipListSet<Entry<Integer>> index, Integer min, Integer max) {
+        Entry<Integer> from = new Entry<>(min == null ? Integer.MIN_VALUE : min, Long.MIN_VALUE);
+        Entry<Integer> to = new Entry<>(max == null ? Integer.MAX_VALUE : max, Long.MAX_VALUE);
+        if (from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Entry<Integer> entry : index.subSet(from, true, to, true)) {
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    private List<Long> exactIds(String itemName) {
+        List<Long> ids = new ArrayList<>();
+        Entry<String> from = new Entry<>(itemName, Long.MIN_VALUE);
+        Entry<String> to = new Entry<>(itemName, Long.MAX_VALUE);
+        for (Entry<String> entry : itemNameIndex.subSet(from, true, to, true)) {
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    private List<Long> prefixIds(String prefix) {
+        List<Long> ids = new ArrayList<>();
+        NavigableSet<Entry<String>> tail = itemNameIndex.tailSet(new Entry<>(prefix, Long.MIN_VALUE), true);
+        for (Entry<String> entry : tail) {
+            if (!entry.value.startsWith(prefix)) {
+                break;  // 정렬돼 있으므로 접두사가 달라지면 더 볼 필요 없음
+            }
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    /**
+     * 후보 id를 id 순으로 정렬한 배열(검색 결과를 페이지 단위로 읽을 때 처음에 한 번만 만듦, Long 목록보다 작음)
+     */
+    static long[] sortedIds(List<Long> ids) {
+        long[] sorted = new long[ids.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = ids.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * 정렬된 ids에서 lastId보다 큰 첫 위치(lastId가 null이면 0)
+     */
+    static int indexAfter(long[] ids, Long lastId) {
+        if (lastId == null) {
+            return 0;
+        }
+        int position = Arrays.binarySearch(ids, lastId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    static final class Entry<V extends Comparable<V>> implements Comparable<Entry<V>> {
+
+        private final V value;
+        private final long id;
+
+        Entry(V value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<V> other) {
+            int result = value.compareTo(other.value);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) o;
+            return id == other.id && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value.hashCode() + Long.hashCode(id);
+        }
+    }
+}
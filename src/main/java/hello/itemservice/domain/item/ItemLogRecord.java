@@ -0,0 +1,135 @@
+package hello.itemservice.domain.item;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * 로그 레코드 한 건(저장/수정/전체 삭제)
+ * 레코드는 항상 변경 후의 전체 값을 담고 있어서 같은 레코드를 여러 번 재실행해도 결과가 같다.(퍼지 스냅샷 복구에 필요)
+ *
+ * 형식 : [payload 길이 int][CRC32 int][payload]
+ * payload : op byte, id long, 상품 버전 long, 상품명 길이 int(-1이면 null) + UTF-8, null 플래그 byte, 가격 int, 수량 int
+ */
+class ItemLogRecord {
+
+    static final byte SAVE = 1;
+    static final byte UPDATE = 2;
+    static final byte CLEAR = 3;    // id에는 삭제 시점의 sequence를 담음
+
+    static final int HEADER_SIZE = 8;
+
+    private static final byte PRICE_NULL = 1;
+    private static final byte QUANTITY_NULL = 2;
+
+    final byte op;
+    final long id;
+    final long version;
+    final String itemName;
+    final Integer price;
+    final Integer quantity;
+
+    ItemLogRecord(byte op, long id, long version, String itemName, Integer price, Integer quantity) {
+        this.op = op;
+        this.id = id;
+        this.version = version;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    /**
+     * 새 상품(버전 1), id는 저장소가 발급한 값
+     */
+    static ItemLogRecord save(long id, Item item) {
+        return new ItemLogRecord(SAVE, id, MemoryItemRepository.INITIAL_VERSION, item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+
+    /**
+     * version은 수정이 반영된 뒤의 버전(재실행할 때 그 버전으로 덮어씀)
+     */
+    static ItemLogRecord update(long itemId, long version, Item updateParam) {
+        return new ItemLogRecord(UPDATE, itemId, version, updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+    }
+
+    static ItemLogRecord clear(long sequence) {
+        return new ItemLogRecord(CLEAR, sequence, 0, null, null, null);
+    }
+
+    Item toItem() {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+
+    ByteBuffer encode() {
+        byte[] name = itemName == null ? null : itemName.getBytes(StandardCharsets.UTF_8);
+        int payloadSize = 1 + 8 + 8 + 4 + (name == null ? 0 : name.length) + 1 + 4 + 4;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.position(HEADER_SIZE);
+        buffer.put(op);
+        buffer.putLong(id);
+        buffer.putLong(version);
+        if (name == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(name.length);
+            buffer.put(name);
+        }
+        buffer.put((byte) ((price == null ? PRICE_NULL : 0) | (quantity == null ? QUANTITY_NULL : 0)));
+        buffer.putInt(price == null ? 0 : price);
+        buffer.putInt(quantity == null ? 0 : quantity);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(0, payloadSize);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * buffer의 현재 위치에서 레코드 하나를 읽음
+     * 끝까지 다 써지지 않았거나(크래시로 잘린 꼬리) CRC가 맞지 않으면 null을 반환하고 위치는 그대로 둔다.
+     */
+    static ItemLogRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (payloadSize <= 0 || buffer.remaining() - HEADER_SIZE < payloadSize) {
+            return null;
+        }
+
+        byte[] payload = new byte[payloadSize];
+        buffer.position(start + HEADER_SIZE);
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            buffer.position(start);
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        byte op = in.get();
+        long id = in.getLong();
+        long version = in.getLong();
+        int nameLength = in.getInt();
+        String itemName = null;
+        if (nameLength >= 0) {
+            itemName = new String(payload, in.position(), nameLength, StandardCharsets.UTF_8);
+            in.position(in.position() + nameLength);
+        }
+        byte flags = in.get();
+        int price = in.getInt();
+        int quantity = in.getInt();
+        return new ItemLogRecord(op, id, version, itemName,
+                (flags & PRICE_NULL) != 0 ? null : price,
+                (flags & QUANTITY_NULL) != 0 ? null : quantity);
+    }
+}
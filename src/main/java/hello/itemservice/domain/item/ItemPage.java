@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 키셋(커서) 페이지네이션 결과
+ * nextId : 다음 페이지를 조회할 때 lastId로 넘겨줄 값(마지막 페이지면 null)
+ */
+@Getter
+public class ItemPage {
+
+    private final List<Item> items;
+    private final Long nextId;
+
+    public ItemPage(List<Item> items, Long nextId) {
+        this.items = items;
+        this.nextId = nextId;
+    }
+}
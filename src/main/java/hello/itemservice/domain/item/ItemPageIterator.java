@@ -0,0 +1,62 @@
+package hello.itemservice.domain.item;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 저장소 전체(또는 검색 결과)를 id 순으로 도는 반복자, 필요할 때마다 findPage(lastId, pageSize)로 한 페이지씩만 읽는다.
+ * 한 번에 pageSize개만 메모리에 있으므로 상품 수와 관계없이 사용량이 일정하다.
+ * 키셋 페이지라서 도는 도중의 저장, 수정도 막지 않음(아직 안 읽은 구간의 변경은 보이고, 지나간 구간은 안 보임)
+ */
+class ItemPageIterator implements Iterator<Item> {
+
+    private final PageReader reader;
+    private final int pageSize;
+
+    private Iterator<Item> page = Collections.emptyIterator();
+    private Long nextId;
+    private boolean last;
+
+    ItemPageIterator(ItemRepository repository, int pageSize) {
+        this(repository::findPage, pageSize);
+    }
+
+    ItemPageIterator(PageReader reader, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.reader = reader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (last) {
+                return false;
+            }
+            ItemPage next = reader.read(nextId, pageSize);
+            page = next.getItems().iterator();
+            nextId = next.getNextId();
+            last = (nextId == null);
+        }
+        return true;
+    }
+
+    @Override
+    public Item next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * lastId 다음부터 최대 size개, 더 있으면 nextId를 채운 페이지를 읽음(ItemRepository.findPage와 같은 규칙)
+     */
+    @FunctionalInterface
+    interface PageReader {
+        ItemPage read(Long lastId, int size);
+    }
+}
@@ -0,0 +1,11 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 가격과 수량을 가진 객체(Item, 등록/수정 폼), 가격 * 수량 같은 복합 룰을 한 번만 정의해서 같이 쓰려고 둠
+ */
+public interface ItemPricing {
+
+    Integer getPrice();
+
+    Integer getQuantity();
+}
@@ -1,41 +1,67 @@
 package hello.itemservice.domain.item;
 
-import org.springframework.stereotype.Repository;
-
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
-@Repository
-public class ItemRepository {
+/**
+ * 상품 저장소
+ * 구현체는 application.properties의 item.repository.type으로 선택한다.
+ * memory(기본) : MemoryItemRepository, columnar : ColumnarItemRepository, durable : DurableItemRepository
+ */
+public interface ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    Item save(Item item);
 
-    public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
+    /**
+     * 여러 건을 한 번에 저장(구현체가 락, 로그 쓰기 등을 한 번으로 묶을 수 있음)
+     */
+    default List<Item> saveAll(List<Item> items) {
+        for (Item item : items) {
+            save(item);
+        }
+        return items;
     }
 
-    public Item findById(Long id) {
-        return store.get(id);
-    }
+    Item findById(Long id);
 
-    public List<Item> findAll() {
-        return new ArrayList<>(store.values());
-    }
+    List<Item> findAll();
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
-    }
+    /**
+     * id 순으로 lastId 다음부터 최대 size개 조회(lastId가 null이면 처음부터)
+     * size가 0 이하면 IllegalArgumentException(구현체마다 빈 페이지, 예외로 다르게 동작하지 않도록)
+     */
+    ItemPage findPage(Long lastId, int size);
 
-    public void clearStore() {
-        store.clear();
+    /**
+     * 전체 상품을 id 순으로 pageSize개씩 나눠서 읽는 반복자(findAll과 달리 전체 목록을 한 번에 만들지 않음)
+     */
+    default Iterator<Item> iterator(int pageSize) {
+        return new ItemPageIterator(this, pageSize);
     }
 
+    /**
+     * 검색 조건에 맞는 상품을 id 순으로 조회
+     */
+    List<Item> findAll(ItemSearchCond cond);
+
+    /**
+     * 검색 결과를 id 순으로 pageSize개씩 나눠서 읽는 반복자(findAll(cond)와 달리 결과 목록 전체를 만들지 않음)
+     * iterator(pageSize)와 같이 페이지마다 따로 읽으므로 도는 도중의 변경은 아직 안 읽은 구간에서만 보인다.
+     */
+    Iterator<Item> iterator(ItemSearchCond cond, int pageSize);
+
+    void update(Long itemId, Item updateParam);
+
+    void clearStore();
+
+    /**
+     * 저장소 전체 버전 : 저장, 수정, clearStore가 반영될 때마다 커짐(목록 페이지 ETag)
+     * 변경이 조회에 보이게 된 뒤에 올라가므로 이 값을 먼저 읽고 조회한 결과는 항상 이 버전 이후의 내용이다.
+     */
+    long getStoreVersion();
+
+    /**
+     * save, saveAll, update, clearStore가 반영될 때마다 알림 받을 리스너 등록
+     */
+    void addChangeListener(ItemChangeListener listener);
 }
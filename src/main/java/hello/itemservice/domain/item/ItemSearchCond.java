@@ -0,0 +1,68 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+
+/**
+ * 상품 검색 조건(null인 조건은 무시)
+ * itemName : 상품명 접두사(itemNameExact가 true면 상품명 전체가 같아야 함)
+ */
+@Data
+public class ItemSearchCond {
+
+    private String itemName;
+    private boolean itemNameExact;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public ItemSearchCond() {
+    }
+
+    public ItemSearchCond(String itemName, Integer minPrice, Integer maxPrice) {
+        this.itemName = itemName;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * 상품명이 정확히 같은 상품만 찾는 조건(상품명 중복 검사), 저장소는 상품명 인덱스의 일치 조회로 처리한다.
+     */
+    public static ItemSearchCond exactItemName(String itemName) {
+        ItemSearchCond cond = new ItemSearchCond(itemName, null, null);
+        cond.setItemNameExact(true);
+        return cond;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasQuantityRange() {
+        return minQuantity != null || maxQuantity != null;
+    }
+
+    public boolean hasItemName() {
+        return itemName != null && !itemName.isEmpty();
+    }
+
+    public boolean matches(Item item) {
+        return inRange(item.getPrice(), minPrice, maxPrice)
+                && inRange(item.getQuantity(), minQuantity, maxQuantity)
+                && (!hasItemName() || matchesItemName(item.getItemName()));
+    }
+
+    private boolean matchesItemName(String value) {
+        if (value == null) {
+            return false;
+        }
+        return itemNameExact ? value.equals(itemName) : value.startsWith(itemName);
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
@@ -0,0 +1,74 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 저장소 안에 보관하는 상품의 한 버전(불변)
+ * 수정하면 객체를 고치지 않고 새 버전을 만들어 맨 앞에 연결하고, 이전 버전은 previous로 이어둔다.
+ * 읽는 쪽은 자기 읽기 버전 이하인 가장 최신 버전을 보기 때문에 수정 도중의 값(반만 바뀐 상태)을 볼 일이 없다.
+ */
+final class ItemSnapshot {
+
+    final Long id;
+    final long version;         // 상품 버전(Item.version, 낙관적 락 비교용)
+    final long commitVersion;   // 커밋 버전(ItemVersionClock이 발급)
+    final long createdVersion;  // 상품이 처음 저장된 커밋 버전
+    final String itemName;
+    final Integer price;
+    final Integer quantity;
+
+    // 더 이상 읽을 사람이 없는 이전 버전은 끊어냄(prune)
+    private volatile ItemSnapshot previous;
+
+    ItemSnapshot(Long id, long version, long commitVersion, long createdVersion,
+                 String itemName, Integer price, Integer quantity, ItemSnapshot previous) {
+        this.id = id;
+        this.version = version;
+        this.commitVersion = commitVersion;
+        this.createdVersion = createdVersion;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+        this.previous = previous;
+    }
+
+    /**
+     * readVersion 시점에 보이는 버전, 그 시점에 아직 없던 상품이면 null
+     */
+    ItemSnapshot visibleAt(long readVersion) {
+        ItemSnapshot snapshot = this;
+        while (snapshot != null && snapshot.commitVersion > readVersion) {
+            snapshot = snapshot.previous;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 커밋된 가장 최신 버전, 커밋된 버전이 아직 없는 상품이면 null
+     */
+    ItemSnapshot latestCommitted(ItemVersionClock clock) {
+        ItemSnapshot snapshot = this;
+        while (snapshot != null && !clock.isCommitted(snapshot.commitVersion)) {
+            snapshot = snapshot.previous;
+        }
+        return snapshot;
+    }
+
+    /**
+     * horizon보다 새 버전은 모두 남기고, horizon 이하 중에서는 가장 최신 하나만 남김
+     */
+    void prune(long horizon) {
+        ItemSnapshot snapshot = this;
+        while (snapshot != null && snapshot.commitVersion > horizon) {
+            snapshot = snapshot.previous;
+        }
+        if (snapshot != null) {
+            snapshot.previous = null;
+        }
+    }
+
+    Item toItem() {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
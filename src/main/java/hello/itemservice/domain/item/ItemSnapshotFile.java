@@ -0,0 +1,153 @@
+package hello.itemservice.domain.item;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 로그를 압축한 스냅샷 파일(snapshot.dat)
+ * 임시 파일에 다 쓰고 force한 다음 원자적으로 이름을 바꾸기 때문에 snapshot.dat은 항상 완전한 파일이다.
+ *
+ * 형식 : MAGIC int, 다음 로그 세그먼트 번호 long, sequence long, 상품 수 int
+ *        상품마다 id long, 상품 버전 long, null 플래그 byte, 가격 int, 수량 int, 상품명 길이 int + UTF-8
+ */
+class ItemSnapshotFile {
+
+    private static final int MAGIC = 0x49544D53; // "ITMS"
+    private static final String FILE_NAME = "snapshot.dat";
+    private static final String TEMP_FILE_NAME = "snapshot.tmp";
+
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 2;
+    private static final byte QUANTITY_NULL = 4;
+
+    private final Path dir;
+
+    ItemSnapshotFile(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * @param nextSegment 이 스냅샷 이후에 재실행해야 하는 첫 로그 세그먼트 번호
+     */
+    void write(List<Item> items, long sequence, long nextSegment) {
+        Path temp = dir.resolve(TEMP_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeLong(nextSegment);
+            out.writeLong(sequence);
+            out.writeInt(items.size());
+            for (Item item : items) {
+                byte flags = 0;
+                flags |= item.getItemName() == null ? NAME_NULL : 0;
+                flags |= item.getPrice() == null ? PRICE_NULL : 0;
+                flags |= item.getQuantity() == null ? QUANTITY_NULL : 0;
+
+                out.writeLong(item.getId());
+                out.writeLong(item.getVersion());
+                out.writeByte(flags);
+                out.writeInt(item.getPrice() == null ? 0 : item.getPrice());
+                out.writeInt(item.getQuantity() == null ? 0 : item.getQuantity());
+                if (item.getItemName() == null) {
+                    out.writeInt(0);
+                } else {
+                    byte[] name = item.getItemName().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                }
+            }
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temp, dir.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 메모리 매핑해서 상품을 하나씩 넘겨주고 Header(다음 세그먼트 번호, sequence)를 반환
+     * 스냅샷이 없으면 null
+     */
+    Header read(Consumer<Item> consumer) {
+        Path path = dir.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("snapshot file is corrupted: " + path);
+            }
+            long nextSegment = buffer.getLong();
+            long sequence = buffer.getLong();
+            int count = buffer.getInt();
+
+            byte[] name = new byte[64];
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long version = buffer.getLong();
+                byte flags = buffer.get();
+                int price = buffer.getInt();
+                int quantity = buffer.getInt();
+                int nameLength = buffer.getInt();
+                if (name.length < nameLength) {
+                    name = new byte[nameLength];
+                }
+                buffer.get(name, 0, nameLength);
+
+                Item item = new Item(
+                        (flags & NAME_NULL) != 0 ? null : new String(name, 0, nameLength, StandardCharsets.UTF_8),
+                        (flags & PRICE_NULL) != 0 ? null : price,
+                        (flags & QUANTITY_NULL) != 0 ? null : quantity);
+                item.setId(id);
+                item.setVersion(version);
+                consumer.accept(item);
+            }
+            return new Header(nextSegment, sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 이름 변경까지 디스크에 남도록 디렉터리도 force(지원하지 않는 OS에서는 무시)
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 디렉터리를 열 수 없는 OS(Windows)
+        }
+    }
+
+    static class Header {
+
+        final long nextSegment;
+        final long sequence;
+
+        Header(long nextSegment, long sequence) {
+            this.nextSegment = nextSegment;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package hello.itemservice.domain.item;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MVCC 버전 관리
+ * 쓰기 : begin()으로 버전을 받아 새 버전을 맵에 올린 뒤 commit(), 커밋은 다른 쓰기를 기다리지 않는다.
+ *        stable은 빈 곳 없이 커밋된 마지막 버전이라 stable 이하 버전은 전부 맵에 올라가 있다는 게 보장된다.
+ *        앞선 쓰기가 늦어지면 stable만 멈추고, 뒤 쓰기는 커밋하고 바로 반환한다.
+ * 읽기 : 상품 한 건은 isCommitted로 커밋된 가장 최신 버전을 바로 읽고(앞선 쓰기가 늦어져도 기다리지 않음),
+ *        목록은 openRead()로 stable 버전을 받아 그 시점의 스냅샷을 읽고 closeRead(), 읽기는 락을 잡지 않고 쓰기도 막지 않는다.
+ *        읽는 중인 버전은 등록해두고, 쓰기는 등록된 가장 오래된 읽기 버전보다 오래된 이전 버전만 끊어낸다.
+ */
+class ItemVersionClock {
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong stable = new AtomicLong();
+    // 커밋됐지만 앞에 커밋 안 된 버전이 있어서 stable에 아직 반영되지 않은 버전
+    private final ConcurrentSkipListSet<Long> committed = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListMap<Long, Integer> activeReads = new ConcurrentSkipListMap<>();
+
+    long begin() {
+        return issued.incrementAndGet();
+    }
+
+    /**
+     * 커밋 표시만 하고 반환, stable은 빈 곳 없이 이어지는 데까지만 올림(앞선 버전을 기다리지 않음)
+     * 늦게 커밋한 앞선 버전이 뒤에 쌓인 버전까지 한꺼번에 stable에 반영한다.
+     */
+    void commit(long version) {
+        if (!stable.compareAndSet(version - 1, version)) {
+            committed.add(version);
+        }
+        advance();
+    }
+
+    /**
+     * committed를 먼저 보고 stable을 나중에 봐야 advance에서 옮기는 사이에도 커밋된 버전을 놓치지 않는다.
+     */
+    boolean isCommitted(long version) {
+        return committed.contains(version) || stable.get() >= version;
+    }
+
+    private void advance() {
+        while (true) {
+            long current = stable.get();
+            long next = current + 1;
+            if (!committed.contains(next)) {
+                return;
+            }
+            if (stable.compareAndSet(current, next)) {
+                committed.remove(next);
+            }
+        }
+    }
+
+    long stable() {
+        return stable.get();
+    }
+
+    long openRead() {
+        while (true) {
+            long version = stable.get();
+            activeReads.merge(version, 1, Integer::sum);
+            // 등록하는 사이 stable이 바뀌었으면 이미 이 버전을 모르는 채로 정리가 일어났을 수 있음 -> 다시 등록
+            if (stable.get() == version) {
+                return version;
+            }
+            closeRead(version);
+        }
+    }
+
+    void closeRead(long version) {
+        activeReads.computeIfPresent(version, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * 이 버전 이하의 이전 버전들은 (가장 최신 하나만 빼고) 더 이상 읽힐 일이 없음
+     * stable을 먼저 읽고 등록된 읽기를 나중에 봐야 openRead의 재확인과 맞물려서 안전하다.
+     */
+    long pruneHorizon() {
+        long horizon = stable.get();
+        Map.Entry<Long, Integer> oldest = activeReads.firstEntry();
+        return oldest == null ? horizon : Math.min(horizon, oldest.getKey());
+    }
+}
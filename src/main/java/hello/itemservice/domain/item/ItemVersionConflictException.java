@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+/**
+ * 수정하려는 상품이 그 사이 다른 요청에 의해 먼저 수정된 경우(낙관적 락 충돌)
+ */
+@Getter
+public class ItemVersionConflictException extends RuntimeException {
+
+    private final Long itemId;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public ItemVersionConflictException(Long itemId, Long expectedVersion, Long currentVersion) {
+        super("item version conflict itemId = " + itemId + ", expected = " + expectedVersion + ", current = " + currentVersion);
+        this.itemId = itemId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,333 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 추가 전용(append-only) 로그, 세그먼트 파일 wal-{번호}.log 로 나눠서 저장
+ *
+ * 그룹 커밋 : 요청 스레드는 큐에 레코드만 넣고 기다리며, 로그 쓰기 스레드 하나가 쌓여있는 레코드를 한 번에 쓰고
+ * force(fsync)도 한 번만 호출한 뒤 기다리던 요청들을 한꺼번에 깨운다. 동시 요청이 많을수록 fsync 한 번에 더 많은 레코드가 묶인다.
+ * force는 로컬 디스크에서만 내구성을 보장한다.(NFS 같은 네트워크 파일 시스템은 지원x)
+ *
+ * 쓰기/force가 실패하면 그 배치를 쓰기 전 크기로 세그먼트를 잘라내고(truncate + force) 배치를 실패시킨다.
+ * 그래서 실패한 레코드는 재시작해도 되살아나지 않고, 이후 레코드가 깨진 바이트 뒤에 붙어서 재실행 때 버려지는 일도 없다.
+ * 잘라내기까지 실패하면 로그를 실패 상태로 두고 이후 추가는 모두 거절한다.
+ */
+@Slf4j
+class ItemWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_BATCH = 1024;
+
+    private final Path dir;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private final SegmentOpener opener;
+    private FileChannel channel;    // 로그 쓰기 스레드만 접근
+    private long segment;
+    private volatile IOException failure;  // 잘라내기도 실패해서 더 이상 쓸 수 없는 상태
+
+    ItemWriteAheadLog(Path dir, long segment) {
+        this(dir, segment, path -> FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * 테스트용 : 세그먼트 파일 여는 방법을 바꿈(쓰기 실패 주입)
+     */
+    ItemWriteAheadLog(Path dir, long segment, SegmentOpener opener) {
+        this.dir = dir;
+        this.segment = segment;
+        this.opener = opener;
+        this.channel = openSegment(segment);
+        this.writer = new Thread(this::writeLoop, "item-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 레코드들을 로그에 추가, 반환된 future는 디스크에 force된 뒤에 완료된다.
+     * future는 큐에 들어온 순서대로 완료된다.(앞선 레코드가 끝나기 전에 뒤 레코드가 먼저 완료되는 일은 없음)
+     */
+    CompletableFuture<Long> append(List<ItemLogRecord> records) {
+        ByteBuffer[] buffers = new ByteBuffer[records.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = records.get(i).encode();
+        }
+        return enqueue(new Pending(Pending.RECORD, buffers));
+    }
+
+    /**
+     * 지금까지 들어온 레코드를 현재 세그먼트에 마무리하고 새 세그먼트로 전환, 새 세그먼트 번호로 완료된다.
+     */
+    CompletableFuture<Long> rotate() {
+        return enqueue(new Pending(Pending.ROTATE));
+    }
+
+    /**
+     * 스냅샷에 반영된(번호가 segment 미만인) 세그먼트 삭제
+     */
+    void deleteSegmentsBefore(long segment) {
+        for (long number : segmentNumbers(dir)) {
+            if (number < segment) {
+                try {
+                    Files.deleteIfExists(segmentPath(dir, number));
+                } catch (IOException e) {
+                    log.warn("로그 세그먼트 삭제 실패 segment = {}", number, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        enqueue(new Pending(Pending.CLOSE)).join();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * fromSegment 이상인 세그먼트를 순서대로 읽어서 레코드를 재실행하고 마지막 세그먼트 번호를 반환
+     * 크래시로 잘리거나 깨진 꼬리는 잘라낸다.(쓰기 실패는 flush에서 바로 잘라내므로 깨진 꼬리는 크래시로 force 전에 멈춘 마지막 배치뿐이고,
+     * 그 배치는 요청에 성공으로 응답되지 않았던 것)
+     */
+    static long replay(Path dir, long fromSegment, Consumer<ItemLogRecord> consumer) {
+        long last = fromSegment;
+        for (long number : segmentNumbers(dir)) {
+            if (number < fromSegment) {
+                continue;
+            }
+            last = number;
+            Path path = segmentPath(dir, number);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size == 0) {
+                    continue;
+                }
+                // 꼬리를 잘라낼 수 있도록 매핑하지 않고 힙으로 읽음(세그먼트 크기는 압축 주기로 제한됨)
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // 끝까지 읽기
+                }
+                buffer.flip();
+                ItemLogRecord record;
+                while ((record = ItemLogRecord.decode(buffer)) != null) {
+                    consumer.accept(record);
+                }
+                if (buffer.position() < size) {
+                    log.warn("로그 꼬리 잘라냄 segment = {}, position = {}, size = {}", number, buffer.position(), size);
+                    channel.truncate(buffer.position());
+                    channel.force(true);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return last;
+    }
+
+    private CompletableFuture<Long> enqueue(Pending pending) {
+        if (!writer.isAlive()) {
+            pending.future.completeExceptionally(new IllegalStateException("log is closed"));
+            return pending.future;
+        }
+        if (failure != null && pending.type != Pending.CLOSE) {
+            pending.future.completeExceptionally(new IllegalStateException("log failed", failure));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        List<Pending> written = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            for (Pending pending : batch) {
+                if (pending.type == Pending.RECORD) {
+                    written.add(pending);
+                    continue;
+                }
+                // 전환/종료 전에 앞에 쌓인 레코드부터 마무리
+                flush(written);
+                if (pending.type == Pending.ROTATE) {
+                    rotateSegment(pending);
+                } else {
+                    closeChannel();
+                    pending.future.complete(segment);
+                    failRemaining();
+                    return;
+                }
+            }
+            flush(written);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            fail(written, new IllegalStateException("log failed", failure));
+            return;
+        }
+        long start = -1;
+        try {
+            start = channel.size();
+            List<ByteBuffer> buffers = new ArrayList<>();
+            for (Pending pending : written) {
+                for (ByteBuffer buffer : pending.buffers) {
+                    buffers.add(buffer);
+                }
+            }
+            ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+            long remaining = 0;
+            for (ByteBuffer buffer : array) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(array);
+            }
+            channel.force(false);
+            for (Pending pending : written) {
+                pending.future.complete(segment);
+            }
+        } catch (IOException e) {
+            log.error("로그 쓰기 실패 segment = {}", segment, e);
+            if (start >= 0) {
+                rollback(start);
+            }
+            fail(written, e);
+        }
+        written.clear();
+    }
+
+    /**
+     * 실패한 배치가 남긴 바이트를 잘라냄, 잘라내지 못하면 로그를 실패 상태로 둠
+     */
+    private void rollback(long size) {
+        try {
+            channel.truncate(size);
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("로그 잘라내기 실패, 이후 쓰기 거절 segment = {}, size = {}", segment, size, e);
+            failure = e;
+        }
+    }
+
+    private static void fail(List<Pending> written, Throwable e) {
+        for (Pending pending : written) {
+            pending.future.completeExceptionally(e);
+        }
+        written.clear();
+    }
+
+    private void rotateSegment(Pending pending) {
+        if (failure != null) {
+            pending.future.completeExceptionally(new IllegalStateException("log failed", failure));
+            return;
+        }
+        try {
+            closeChannel();
+            segment++;
+            channel = openSegment(segment);
+            pending.future.complete(segment);
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            log.error("로그 세그먼트 닫기 실패 segment = {}", segment, e);
+        }
+    }
+
+    private void failRemaining() {
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (Pending pending : remaining) {
+            pending.future.completeExceptionally(new IllegalStateException("log is closed"));
+        }
+    }
+
+    private FileChannel openSegment(long number) {
+        try {
+            return opener.open(segmentPath(dir, number));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path segmentPath(Path dir, long number) {
+        return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> segmentNumbers(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface SegmentOpener {
+
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private static class Pending {
+
+        static final int RECORD = 0;
+        static final int ROTATE = 1;
+        static final int CLOSE = 2;
+
+        final int type;
+        final ByteBuffer[] buffers;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Pending(int type, ByteBuffer... buffers) {
+            this.type = type;
+            this.buffers = buffers;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기본 저장소(item.repository.type 설정이 없거나 memory일 때 사용)
+ *
+ * 상품은 불변 스냅샷(ItemSnapshot)으로 저장하고 수정하면 새 버전을 만들어 원자적으로 교체한다.(MVCC)
+ * 조회는 락 없이 한 시점(읽기 버전)의 상태를 읽고 복사본 Item을 돌려주므로 목록 화면에 수정이 반쯤 반영된 상품이 보이지 않는다.
+ * 반환된 Item을 고쳐도 저장소에는 반영되지 않는다.(수정은 update로)
+ * 수정은 상품 버전(Item.version)을 비교하는 낙관적 락으로 처리해서 수정끼리도 락을 잡고 줄 세우지 않는다.
+ */
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "memory", matchIfMissing = true)
+public class MemoryItemRepository implements ItemRepository {
+
+    static final long INITIAL_VERSION = 1;
+
+    // 여러 요청 스레드가 동시에 접근하므로 HashMap, long 대신 ConcurrentSkipListMap, AtomicLong 사용(전역 락 없이 동시성 보장)
+    // ConcurrentSkipListMap은 id 순으로 정렬돼 있어서 키셋 페이지네이션을 O(log n + 페이지 크기)로 처리 가능
+    // 구현체가 여러 개가 되면서 static 대신 인스턴스 필드로 변경(스프링 빈은 싱글톤이라 하나만 생성됨)
+    private final ConcurrentNavigableMap<Long, ItemSnapshot> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence;  // 마지막으로 발급한 id
+    private final long idStride;
+    private final ItemIndex index = new ItemIndex();
+    private final ItemVersionClock clock = new ItemVersionClock();
+
+    // 수정 충돌(버전 불일치로 거절) / 재시도(교체 직전에 다른 수정이 먼저 반영됨) 횟수
+    private final LongAdder updateConflicts = new LongAdder();
+    private final LongAdder updateRetries = new LongAdder();
+
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public MemoryItemRepository() {
+        this(1, 1);
+    }
+
+    /**
+     * 분할 저장소(PartitionedItemRepository)용 : firstId, firstId + idStride, firstId + 2 * idStride ... 순으로 id 발급
+     */
+    MemoryItemRepository(long firstId, long idStride) {
+        this.sequence = new AtomicLong(firstId - idStride);
+        this.idStride = idStride;
+    }
+
+    @Override
+    public Item save(Item item) {
+        Long id = sequence.addAndGet(idStride);
+        long commitVersion = clock.begin();
+        try {
+            ItemSnapshot snapshot = new ItemSnapshot(id, INITIAL_VERSION, commitVersion, commitVersion,
+                    item.getItemName(), item.getPrice(), item.getQuantity(), null);
+            synchronized (snapshot) {
+                store.put(id, snapshot);
+                index.add(id, snapshot.itemName, snapshot.price, snapshot.quantity);
+            }
+        } finally {
+            clock.commit(commitVersion);
+        }
+        item.setId(id);
+        item.setVersion(INITIAL_VERSION);
+        fireChanged(id);
+        return item;
+    }
+
+    /**
+     * 읽기 버전을 등록하지 않고 이 상품의 커밋된 가장 최신 버전을 읽음(상품별 가시성)
+     * 다른 상품의 쓰기가 늦어져서 stable이 멈춰 있어도 기다리지 않는다.
+     * 최신 버전부터 이전 버전으로 내려가므로 정리(prune)로 끊기는 건 커밋된 버전보다 오래된 버전뿐이다.
+     */
+    @Override
+    public Item findById(Long id) {
+        ItemSnapshot latest = (id == null) ? null : store.get(id);
+        ItemSnapshot committed = (latest == null) ? null : latest.latestCommitted(clock);
+        return committed == null ? null : committed.toItem();     // 없거나 아직 커밋되지 않은 상품이면 null
+    }
+
+    @Override
+    public List<Item> findAll() {
+        long readVersion = clock.openRead();
+        try {
+            List<Item> items = new ArrayList<>();
+            for (ItemSnapshot latest : store.values()) {
+                ItemSnapshot visible = latest.visibleAt(readVersion);
+                if (visible != null) {
+                    items.add(visible.toItem());
+                }
+            }
+            return items;
+        } finally {
+            clock.closeRead(readVersion);
+        }
+    }
+
+    /**
+     * id 순으로 lastId 다음부터 최대 size개 조회(lastId가 null이면 처음부터)
+     * 전체 store를 복사하지 않고 페이지 크기만큼만 순회한다.
+     */
+    @Override
+    public ItemPage findPage(Long lastId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        ConcurrentNavigableMap<Long, ItemSnapshot> tail = (lastId == null) ? store : store.tailMap(lastId, false);
+
+        long readVersion = clock.openRead();
+        try {
+            List<Item> items = new ArrayList<>(size);
+            Long nextId = null;
+            for (ItemSnapshot latest : tail.values()) {
+                ItemSnapshot visible = latest.visibleAt(readVersion);
+                if (visible == null) {
+                    continue;
+                }
+                if (items.size() == size) {
+                    nextId = items.get(size - 1).getId(); // 한 개 더 있으면 다음 페이지 존재
+                    break;
+                }
+                items.add(visible.toItem());
+            }
+            return new ItemPage(items, nextId);
+        } finally {
+            clock.closeRead(readVersion);
+        }
+    }
+
+    /**
+     * 보조 인덱스로 후보를 찾고 나머지 조건은 실제 값으로 걸러서 id 순으로 반환
+     * ex) 가격 1000 ~ 50000, 상품명이 'item'으로 시작 -> 가격 인덱스 범위 조회 후 상품명 확인
+     * 인덱스는 최신 상태라 읽기 버전의 값과 다를 수 있으므로 조건은 항상 읽기 버전의 값으로 다시 확인한다.
+     */
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        long readVersion = clock.openRead();
+        try {
+            List<Long> candidateIds = index.findCandidateIds(cond);
+            Iterable<ItemSnapshot> candidates = (candidateIds == null) ? store.values() : () -> candidateIds.stream()
+                    .map(store::get)
+                    .filter(Objects::nonNull)
+                    .iterator();
+
+            List<Item> result = new ArrayList<>();
+            for (ItemSnapshot latest : candidates) {
+                ItemSnapshot visible = latest.visibleAt(readVersion);
+                if (visible == null) {
+                    continue;
+                }
+                Item item = visible.toItem();
+                if (cond.matches(item)) {
+                    result.add(item);
+                }
+            }
+            result.sort(Comparator.comparing(Item::getId));
+            return result;
+        } finally {
+            clock.closeRead(readVersion);
+        }
+    }
+
+    /**
+     * 인덱스를 탈 수 있으면 처음에 후보 id만 정렬해 두고 페이지마다 lastId 다음 후보부터 pageSize개만 Item으로 만든다.
+     * 인덱스가 없으면 findPage처럼 store를 lastId 다음부터 훑으면서 조건에 맞는 것만 모은다.
+     */
+    @Override
+    public Iterator<Item> iterator(ItemSearchCond cond, int pageSize) {
+        List<Long> candidateIds = index.findCandidateIds(cond);
+        if (candidateIds == null) {
+            return new ItemPageIterator((lastId, size) -> searchPage(cond,
+                    (lastId == null ? store : store.tailMap(lastId, false)).values().iterator(), size), pageSize);
+        }
+
+        long[] ids = ItemIndex.sortedIds(candidateIds);
+        return new ItemPageIterator((lastId, size) -> searchPage(cond, Arrays.stream(ids, ItemIndex.indexAfter(ids, lastId), ids.length)
+                .mapToObj(store::get)
+                .filter(Objects::nonNull)
+                .iterator(), size), pageSize);
+    }
+
+    /**
+     * id 순 snapshots에서 읽기 버전에 보이고 조건에 맞는 상품을 최대 size개(한 개 더 있으면 nextId를 채움)
+     */
+    private ItemPage searchPage(ItemSearchCond cond, Iterator<ItemSnapshot> snapshots, int size) {
+        long readVersion = clock.openRead();
+        try {
+            List<Item> items = new ArrayList<>();
+            while (snapshots.hasNext()) {
+                ItemSnapshot visible = snapshots.next().visibleAt(readVersion);
+                if (visible == null) {
+                    continue;
+                }
+                Item item = visible.toItem();
+                if (!cond.matches(item)) {
+                    continue;
+                }
+                if (items.size() == size) {
+                    return new ItemPage(items, items.get(size - 1).getId());
+                }
+                items.add(item);
+            }
+            return new ItemPage(items, null);
+        } finally {
+            clock.closeRead(readVersion);
+        }
+    }
+
+    /**
+     * 새 버전을 만들어서 현재 버전과 원자적으로 교체(CAS), 이전 버전은 읽는 중인 요청이 끝날 때까지 남겨둠
+     * updateParam에 version이 있으면 저장소의 버전과 같을 때만 반영하고 다르면 ItemVersionConflictException
+     * 교체 직전에 다른 수정이 먼저 들어오면 최신 버전을 다시 읽어서 재시도한다.(version을 넘긴 경우 재시도 중에도 충돌이면 예외)
+     * 성공하면 updateParam의 version은 새 버전으로 바뀐다.(save가 id를 채워주는 것과 같음)
+     * 없는 상품이면(clearStore로 지워진 경우 포함) 아무것도 하지 않는다.
+     */
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        Long expectedVersion = updateParam.getVersion();
+        while (true) {
+            ItemSnapshot current = store.get(itemId);
+            if (current == null) {
+                return;
+            }
+            if (expectedVersion != null && expectedVersion != current.version) {
+                updateConflicts.increment();
+                throw new ItemVersionConflictException(itemId, expectedVersion, current.version);
+            }
+
+            long commitVersion = clock.begin();
+            boolean replaced = false;
+            try {
+                ItemSnapshot next = new ItemSnapshot(itemId, current.version + 1, commitVersion, current.createdVersion,
+                        updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity(), current);
+                // 교체 전에 새 버전을 잠가서 다음 수정이 이 수정의 인덱스 갱신이 끝나기 전에 인덱스를 건드리지 않게 함
+                synchronized (next) {
+                    if (store.replace(itemId, current, next)) {
+                        awaitIndexed(current);
+                        next.prune(clock.pruneHorizon());
+                        index.replace(itemId, current.itemName, current.price, current.quantity, next.itemName, next.price, next.quantity);
+                        updateParam.setVersion(next.version);
+                        replaced = true;
+                    }
+                }
+            } finally {
+                // 교체에 실패해도 발급받은 버전은 커밋해야 뒤 버전들의 커밋이 진행됨
+                clock.commit(commitVersion);
+            }
+            if (replaced) {
+                fireChanged(itemId);
+                return;
+            }
+            updateRetries.increment();
+        }
+    }
+
+    @Override
+    public void clearStore() {
+        store.clear();
+        index.clear();
+        clock.commit(clock.begin());
+        fireChanged(null);
+    }
+
+    /**
+     * 커밋된(stable) 버전, 수정 재시도로 버전만 올라가는 경우도 있지만 변경이 없는데 ETag가 바뀌는 정도라 괜찮음
+     */
+    @Override
+    public long getStoreVersion() {
+        return clock.stable();
+    }
+
+    @Override
+    public void addChangeListener(ItemChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void fireChanged(Long itemId) {
+        for (ItemChangeListener listener : listeners) {
+            listener.itemChanged(itemId);
+        }
+    }
+
+    /**
+     * 복구/로그 반영용 : 이미 id, version이 있는 상품을 그대로 넣고(같은 id가 있으면 교체) sequence를 그 id 이상으로 올림
+     * 교체할 때는 이전 버전을 previous로 이어서 읽는 중인 요청은 계속 이전 값을 본다.(호출하는 쪽이 한 스레드씩 호출)
+     */
+    void restore(Item item) {
+        Long id = item.getId();
+        long version = item.getVersion() == null ? INITIAL_VERSION : item.getVersion();
+        long commitVersion = clock.begin();
+        try {
+            ItemSnapshot current = store.get(id);
+            ItemSnapshot snapshot = new ItemSnapshot(id, version, commitVersion,
+                    current == null ? commitVersion : current.createdVersion,
+                    item.getItemName(), item.getPrice(), item.getQuantity(), current);
+            synchronized (snapshot) {
+                ItemSnapshot old = store.put(id, snapshot);
+                if (old == null) {
+                    index.add(id, snapshot.itemName, snapshot.price, snapshot.quantity);
+                } else {
+                    awaitIndexed(old);
+                    snapshot.prune(clock.pruneHorizon());
+                    index.replace(id, old.itemName, old.price, old.quantity, snapshot.itemName, snapshot.price, snapshot.quantity);
+                }
+            }
+        } finally {
+            clock.commit(commitVersion);
+        }
+        restoreSequence(id);
+        fireChanged(id);
+    }
+
+    void restoreSequence(long value) {
+        sequence.accumulateAndGet(value, Math::max);
+    }
+
+    long currentSequence() {
+        return sequence.get();
+    }
+
+    public long getUpdateConflictCount() {
+        return updateConflicts.sum();
+    }
+
+    public long getUpdateRetryCount() {
+        return updateRetries.sum();
+    }
+
+    /**
+     * 이전 버전을 올린 스레드가 인덱스 갱신을 끝낼 때까지 대기
+     * 버전은 올리기 전에 잠그고 인덱스 갱신 후에 풀기 때문에 잠깐 잡았다 놓기만 하면 된다.(항상 새 버전 -> 이전 버전 순서로 잠가서 교착 없음)
+     */
+    private static void awaitIndexed(ItemSnapshot previous) {
+        synchronized (previous) {
+            // 대기만
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * id 기준으로 여러 개의 메모리 저장소(파티션)로 나눈 저장소(item.repository.type=partitioned)
+ * 파티션 i(0부터)는 i + 1, i + 1 + N, i + 1 + 2N ... 의 id를 발급하므로 id % N 으로 바로 파티션을 찾아간다.
+ * 저장은 파티션을 돌아가면서 고르고, 맵/인덱스/버전 관리가 파티션마다 따로라서 쓰기가 하나의 맵에 몰리지 않는다.
+ *
+ * 전체 조회/검색은 ForkJoinPool에서 파티션별로 병렬 실행하고 id 순으로 병합(k-way merge)한다.
+ * 각 파티션 안에서는 한 시점의 상태를 읽지만 파티션끼리는 같은 시점이 아닐 수 있다.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "partitioned")
+public class PartitionedItemRepository implements ItemRepository {
+
+    private final MemoryItemRepository[] partitions;
+    private final AtomicLong saveCounter = new AtomicLong();
+    private final ForkJoinPool pool;
+
+    /**
+     * @param partitionCount 파티션 수, 0 이하면 CPU 코어 수
+     */
+    public PartitionedItemRepository(@Value("${item.repository.partitions:0}") int partitionCount) {
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.partitions = new MemoryItemRepository[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new MemoryItemRepository(i + 1, count);
+        }
+        this.pool = new ForkJoinPool(Math.min(count, Runtime.getRuntime().availableProcessors()));
+        log.info("분할 저장소 파티션 = {}, 병렬 조회 스레드 = {}", count, pool.getParallelism());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * 파티션을 돌아가면서 저장(한 스레드에서 차례로 저장하면 id도 1, 2, 3 ... 순서대로 발급됨)
+     */
+    @Override
+    public Item save(Item item) {
+        int partition = (int) (saveCounter.getAndIncrement() % partitions.length);
+        return partitions[partition].save(item);
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return id == null ? null : partitionOf(id).findById(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return mergeById(fanOut(MemoryItemRepository::findAll), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 페이지는 작아서 병렬로 나누지 않고 파티션마다 size개씩 읽어서 병합
+     */
+    @Override
+    public ItemPage findPage(Long lastId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        List<List<Item>> pages = new ArrayList<>(partitions.length);
+        boolean more = false;
+        for (MemoryItemRepository partition : partitions) {
+            ItemPage page = partition.findPage(lastId, size);
+            pages.add(page.getItems());
+            more |= page.getNextId() != null;
+        }
+
+        List<Item> items = mergeById(pages, size + 1);
+        if (items.size() > size) {
+            items.remove(size);
+            more = true;
+        }
+        Long nextId = (more && !items.isEmpty()) ? items.get(items.size() - 1).getId() : null;
+        return new ItemPage(items, nextId);
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return mergeById(fanOut(partition -> partition.findAll(cond)), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 파티션마다 검색 반복자를 열고 id 순으로 하나씩 병합(파티션 수 x pageSize개까지만 메모리에 있음)
+     */
+    @Override
+    public Iterator<Item> iterator(ItemSearchCond cond, int pageSize) {
+        List<Iterator<Item>> iterators = new ArrayList<>(partitions.length);
+        for (MemoryItemRepository partition : partitions) {
+            iterators.add(partition.iterator(cond, pageSize));
+        }
+        return mergingIterator(iterators);
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        partitionOf(itemId).update(itemId, updateParam);
+    }
+
+    @Override
+    public void clearStore() {
+        for (MemoryItemRepository partition : partitions) {
+            partition.clearStore();
+        }
+    }
+
+    /**
+     * 파티션 버전의 합(파티션마다 커지기만 하므로 합도 어느 파티션이 바뀌든 커짐)
+     */
+    @Override
+    public long getStoreVersion() {
+        long version = 0;
+        for (MemoryItemRepository partition : partitions) {
+            version += partition.getStoreVersion();
+        }
+        return version;
+    }
+
+    @Override
+    public void addChangeListener(ItemChangeListener listener) {
+        for (MemoryItemRepository partition : partitions) {
+            partition.addChangeListener(listener);
+        }
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public long getUpdateConflictCount() {
+        long count = 0;
+        for (MemoryItemRepository partition : partitions) {
+            count += partition.getUpdateConflictCount();
+        }
+        return count;
+    }
+
+    public long getUpdateRetryCount() {
+        long count = 0;
+        for (MemoryItemRepository partition : partitions) {
+            count += partition.getUpdateRetryCount();
+        }
+        return count;
+    }
+
+    private MemoryItemRepository partitionOf(long id) {
+        return partitions[(int) Math.floorMod(id - 1, (long) partitions.length)];
+    }
+
+    /**
+     * 파티션마다 query를 ForkJoinPool에서 실행하고 파티션 순서대로 결과를 모음(파티션이 하나면 호출 스레드에서 바로 실행)
+     */
+    private <T> List<T> fanOut(Function<MemoryItemRepository, T> query) {
+        List<T> results = new ArrayList<>(partitions.length);
+        if (partitions.length == 1) {
+            results.add(query.apply(partitions[0]));
+            return results;
+        }
+
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(partitions.length);
+        for (MemoryItemRepository partition : partitions) {
+            tasks.add(pool.submit(() -> query.apply(partition)));
+        }
+        for (ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * id 순으로 정렬된 목록들을 하나로 병합, 최대 limit개
+     */
+    static List<Item> mergeById(List<List<Item>> sortedLists, int limit) {
+        int total = 0;
+        for (List<Item> list : sortedLists) {
+            total += list.size();
+        }
+        List<Item> merged = new ArrayList<>(Math.min(total, limit));
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()));
+        for (List<Item> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor(list.iterator()));
+            }
+        }
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.current());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * id 순으로 정렬된 반복자들을 필요할 때마다 하나씩 꺼내서 병합하는 반복자(mergeById와 달리 결과 목록을 만들지 않음)
+     */
+    static Iterator<Item> mergingIterator(List<Iterator<Item>> sortedIterators) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, sortedIterators.size()));
+        for (Iterator<Item> iterator : sortedIterators) {
+            if (iterator.hasNext()) {
+                heads.add(new Cursor(iterator));
+            }
+        }
+        return new Iterator<Item>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Item next() {
+                Cursor cursor = heads.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                Item item = cursor.current();
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+                return item;
+            }
+        };
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final Iterator<Item> items;
+        private Item current;
+
+        Cursor(Iterator<Item> items) {
+            this.items = items;
+            this.current = items.next();
+        }
+
+        Item current() {
+            return current;
+        }
+
+        boolean advance() {
+            if (!items.hasNext()) {
+                return false;
+            }
+            current = items.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(current().getId(), other.current().getId());
+        }
+    }
+}
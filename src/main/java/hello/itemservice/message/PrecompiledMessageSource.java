@@ -0,0 +1,334 @@
+package hello.itemservice.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메시지 표를 미리 만들어 두는 ResourceBundleMessageSource(spring.messages.basename=messages, errors 그대로 사용)
+ * 기본 구현은 오류 하나를 그릴 때마다 코드 목록(required.item.itemName -> required.itemName -> required.java.lang.String -> required)을
+ * basename마다 번들에서 하나씩 찾고, 인자가 있으면 공유 MessageFormat을 synchronized로 잡고 포맷한다.
+ *
+ * 여기서는 locale마다 모든 번들 키의 메시지를 한 번에 읽어서 표로 만들고 패턴도 미리 쪼개 둔다.(리터럴 + 인자 번호)
+ * 코드 목록별로 이긴 메시지도 기억해서 다음부터는 한 번의 조회로 끝난다.
+ * 메시지를 못 찾는 경우, 기본 메시지, 부모 MessageSource, 리로드(cacheDuration) 설정, {0,number} 같은 형식 지정 패턴은 원래 구현으로 넘긴다.
+ */
+@Slf4j
+public class PrecompiledMessageSource extends ResourceBundleMessageSource implements InitializingBean {
+
+    static final int MAX_LOCALES = 32;
+    static final int MAX_CHAINS = 4096;
+
+    // 원래 구현으로 넘기는 메시지, 코드 목록 중 아무 것도 없는 경우 표시
+    private static final CompiledMessage DELEGATE = new CompiledMessage(null, null);
+
+    private final Map<Locale, MessageTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * 기본 locale과 basename_{locale}.properties 파일이 있는 locale의 메시지 표를 미리 만듦
+     * 그 외 locale(en_US 같은 요청 locale)은 처음 요청될 때 만든다.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!isPrecompilable()) {
+            log.info("메시지 표를 만들지 않음(리로드 또는 부모 MessageSource 사용)");
+            return;
+        }
+        Set<Locale> locales = new LinkedHashSet<>();
+        locales.add(Locale.getDefault());
+        locales.addAll(bundleLocales());
+        for (Locale locale : locales) {
+            MessageTable table = table(locale);
+            log.info("메시지 표 컴파일 locale = {}, 메시지 = {}개", locale, table.messages.size());
+        }
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable String defaultMessage, Locale locale) {
+        MessageTable table = table(locale);
+        if (table != null && code != null) {
+            CompiledMessage message = table.messages.getOrDefault(code, DELEGATE);
+            if (message != DELEGATE) {
+                return render(table, message, args);
+            }
+        }
+        return super.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, Locale locale) throws NoSuchMessageException {
+        MessageTable table = table(locale);
+        if (table != null && code != null) {
+            CompiledMessage message = table.messages.getOrDefault(code, DELEGATE);
+            if (message != DELEGATE) {
+                return render(table, message, args);
+            }
+        }
+        return super.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        MessageTable table = table(locale);
+        String[] codes = resolvable.getCodes();
+        if (table != null && codes != null) {
+            CompiledMessage message = table.winner(codes);
+            if (message != DELEGATE) {
+                return render(table, message, resolvable.getArguments());
+            }
+        }
+        return super.getMessage(resolvable, locale);
+    }
+
+    /**
+     * 인자가 없으면 원문 그대로(MessageFormat을 쓰지 않는 기본 구현과 같음), 있으면 미리 쪼개 둔 패턴으로 포맷
+     */
+    private String render(MessageTable table, CompiledMessage message, @Nullable Object[] args) {
+        if (!isAlwaysUseMessageFormat() && ObjectUtils.isEmpty(args)) {
+            return message.text;
+        }
+        return message.format(resolveArguments(args, table.locale), table);
+    }
+
+    /**
+     * 리로드를 켜거나 부모/공통 메시지를 쓰면 코드 하나하나마다 부모까지 확인하는 순서가 달라지므로 표를 쓰지 않음
+     */
+    private boolean isPrecompilable() {
+        return getCacheMillis() < 0 && getParentMessageSource() == null && getCommonMessages() == null;
+    }
+
+    @Nullable
+    private MessageTable table(@Nullable Locale locale) {
+        if (!isPrecompilable()) {
+            return null;
+        }
+        Locale localeToUse = (locale != null) ? locale : Locale.getDefault();
+        MessageTable table = tables.get(localeToUse);
+        if (table == null) {
+            // Accept-Language로 들어오는 locale이 끝없이 늘어나지 않도록 제한
+            if (tables.size() >= MAX_LOCALES) {
+                return null;
+            }
+            table = tables.computeIfAbsent(localeToUse, this::compile);
+        }
+        return table;
+    }
+
+    /**
+     * 모든 basename 번들의 키를 모아서 기본 구현과 같은 방법(resolveCodeWithoutArguments, basename 순서대로 먼저 찾은 것)으로 메시지를 정함
+     */
+    private MessageTable compile(Locale locale) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String basename : getBasenameSet()) {
+            ResourceBundle bundle = getResourceBundle(basename, locale);
+            if (bundle != null) {
+                codes.addAll(bundle.keySet());
+            }
+        }
+
+        Map<String, CompiledMessage> messages = new HashMap<>(codes.size() * 2);
+        for (String code : codes) {
+            String text = resolveCodeWithoutArguments(code, locale);
+            if (text != null) {
+                messages.put(code, CompiledMessage.compile(text));
+            }
+        }
+        return new MessageTable(locale, messages);
+    }
+
+    private Set<Locale> bundleLocales() {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getBundleClassLoader());
+        Set<Locale> locales = new LinkedHashSet<>();
+        for (String basename : getBasenameSet()) {
+            String prefix = StringUtils.getFilename(basename.replace('.', '/')) + "_";
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + basename.replace('.', '/') + "_*.properties")) {
+                    String filename = StringUtils.stripFilenameExtension(resource.getFilename());
+                    Locale locale = StringUtils.parseLocale(filename.substring(prefix.length()));
+                    if (locale != null) {
+                        locales.add(locale);
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("메시지 번들 locale 확인 실패 basename = {}", basename, e);
+            }
+        }
+        return locales;
+    }
+
+    private static class MessageTable {
+
+        private final Locale locale;
+        private final Map<String, CompiledMessage> messages;     // 만든 이후에는 읽기만 함
+        private final Map<ChainKey, CompiledMessage> winners = new ConcurrentHashMap<>();
+
+        // NumberFormat은 스레드 안전하지 않음(MessageFormat도 인자마다 NumberFormat.getInstance(locale)로 새로 만듦)
+        private final ThreadLocal<NumberFormat> numberFormat;
+
+        MessageTable(Locale locale, Map<String, CompiledMessage> messages) {
+            this.locale = locale;
+            this.messages = messages;
+            this.numberFormat = ThreadLocal.withInitial(() -> NumberFormat.getInstance(locale));
+        }
+
+        /**
+         * 코드 목록 중 처음으로 메시지가 있는 코드의 메시지(없으면 DELEGATE)
+         */
+        CompiledMessage winner(String[] codes) {
+            ChainKey key = new ChainKey(codes);
+            CompiledMessage winner = winners.get(key);
+            if (winner != null) {
+                return winner;
+            }
+            winner = DELEGATE;
+            for (String code : codes) {
+                CompiledMessage message = (code != null) ? messages.get(code) : null;
+                if (message != null) {
+                    winner = message;
+                    break;
+                }
+            }
+            if (winners.size() < MAX_CHAINS) {
+                winners.putIfAbsent(key, winner);
+            }
+            return winner;
+        }
+    }
+
+    private static final class ChainKey {
+
+        private final String[] codes;
+        private final int hash;
+
+        ChainKey(String[] codes) {
+            this.codes = codes;
+            this.hash = Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof ChainKey && Arrays.equals(codes, ((ChainKey) o).codes));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 원문과 MessageFormat 패턴을 쪼갠 결과(String : 리터럴, Integer : 인자 번호)
+     */
+    private static final class CompiledMessage {
+
+        private final String text;
+        private final Object[] parts;
+
+        private CompiledMessage(String text, Object[] parts) {
+            this.text = text;
+            this.parts = parts;
+        }
+
+        /**
+         * MessageFormat.applyPattern과 같은 규칙으로 '' -> ', '...' 안은 그대로, {n} -> 인자 번호
+         * 형식을 지정한 인자({0,number,#})나 잘못된 패턴은 DELEGATE(원래 구현이 같은 결과나 같은 예외를 냄)
+         */
+        static CompiledMessage compile(String pattern) {
+            List<Object> parts = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            boolean inQuote = false;
+            for (int i = 0; i < pattern.length(); i++) {
+                char ch = pattern.charAt(i);
+                if (ch == '\'') {
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                        literal.append(ch);
+                        i++;
+                    } else {
+                        inQuote = !inQuote;
+                    }
+                } else if (ch == '{' && !inQuote) {
+                    int end = pattern.indexOf('}', i + 1);
+                    if (end < 0 || !isArgumentIndex(pattern, i + 1, end)) {
+                        return DELEGATE;
+                    }
+                    if (literal.length() > 0) {
+                        parts.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    parts.add(Integer.parseInt(pattern.substring(i + 1, end)));
+                    i = end;
+                } else {
+                    literal.append(ch);
+                }
+            }
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+            }
+            return new CompiledMessage(pattern, parts.toArray());
+        }
+
+        private static boolean isArgumentIndex(String pattern, int start, int end) {
+            if (start == end || end - start > 9) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                char ch = pattern.charAt(i);
+                if (ch < '0' || ch > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * MessageFormat.format과 같은 결과(없는 인자는 {n}, null은 "null", 숫자/날짜는 locale 형식)
+         */
+        String format(Object[] args, MessageTable table) {
+            StringBuilder result = new StringBuilder(text.length() + 16);
+            for (Object part : parts) {
+                if (part instanceof String) {
+                    result.append((String) part);
+                    continue;
+                }
+                int index = (Integer) part;
+                if (args == null || index >= args.length) {
+                    result.append('{').append(index).append('}');
+                    continue;
+                }
+                Object arg = args[index];
+                if (arg == null) {
+                    result.append("null");
+                } else if (arg instanceof Number) {
+                    result.append(table.numberFormat.get().format(arg));
+                } else if (arg instanceof Date) {
+                    result.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, table.locale).format(arg));
+                } else {
+                    result.append(arg);
+                }
+            }
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 저장소 조회처럼 오래 걸릴 수 있는 검증(상품명 중복 등)
+ * 검증 결과는 CompletableFuture로 돌려준다. 통과하면 null, 실패하면 오류를 남기는 방법(errors -> errors.rejectValue(...))
+ *
+ * BindingResult는 스레드 안전하지 않으므로 여기서 errors에 직접 쓰지 않는다.
+ * 돌려준 오류는 AsyncValidation이 필드 검증이 끝난 뒤 선언 순서대로 같은 BindingResult에 합친다.
+ */
+@FunctionalInterface
+public interface AsyncConstraint<T> {
+
+    CompletableFuture<Consumer<Errors>> check(T target);
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 값싼 필드 검증과 AsyncConstraint를 같이 실행
+ * 1. AsyncConstraint 조회를 먼저 시작하고
+ * 2. 그동안 요청 스레드에서 필드 검증(Bean Validation, 복합 룰)을 하고
+ * 3. 조회가 모두 끝나면 그 결과를 같은 BindingResult에 합친다.
+ *
+ * 컨트롤러는 돌려받은 CompletableFuture에 then으로 이어서 뷰 이름을 만들어 반환하면 된다.(스프링 MVC 비동기 요청 처리, 조회를 기다리는 동안 톰캣 스레드를 잡고 있지 않음)
+ */
+public final class AsyncValidation {
+
+    private AsyncValidation() {
+    }
+
+    @SafeVarargs
+    public static <T> CompletableFuture<BindingResult> validate(T target, BindingResult bindingResult, Runnable fieldChecks,
+                                                                AsyncConstraint<? super T>... constraints) {
+        List<CompletableFuture<Consumer<Errors>>> checks = new ArrayList<>(constraints.length);
+        for (AsyncConstraint<? super T> constraint : constraints) {
+            checks.add(constraint.check(target));
+        }
+
+        fieldChecks.run();
+
+        // 필드 검증이 끝난 뒤에 합치는 단계를 등록하므로 BindingResult는 한 번에 한 스레드만 씀
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    for (CompletableFuture<Consumer<Errors>> check : checks) {
+                        Consumer<Errors> rejection = check.join();
+                        if (rejection != null) {
+                            rejection.accept(bindingResult);
+                        }
+                    }
+                    return bindingResult;
+                });
+    }
+
+    /**
+     * 검증이 이미 끝났으면(비동기 검증이 꺼져 있거나 바로 끝난 경우) 호출한 스레드(요청 스레드)에서 바로 이어서 실행하고,
+     * 아직 조회 중이면 조회가 끝난 뒤 executor에서 실행한다.(조회 풀 스레드를 저장소 쓰기로 잡아두지 않음)
+     */
+    public static <R> CompletableFuture<R> then(CompletableFuture<BindingResult> validation,
+                                                Function<BindingResult, R> action, Executor executor) {
+        if (validation.isDone()) {
+            return validation.thenApply(action);
+        }
+        return validation.thenApplyAsync(action, executor);
+    }
+}
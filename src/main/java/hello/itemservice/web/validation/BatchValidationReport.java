@@ -0,0 +1,76 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.context.MessageSource;
+import org.springframework.validation.BindingResult;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 일괄 검증 결과 : 오류가 있는 요소만 요소 번호 순서대로 내려줌(오류 형식은 CompactErrors와 같음)
+ * {"total":3,"failed":1,"results":[{"index":1,"errors":[{"field":"price","code":"Range","message":"..."}]}]}
+ */
+@JsonSerialize(using = BatchValidationReport.Serializer.class)
+public class BatchValidationReport {
+
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString FAILED = new SerializedString("failed");
+    private static final SerializedString RESULTS = new SerializedString("results");
+    private static final SerializedString INDEX = new SerializedString("index");
+
+    private final BindingResult[] results;
+    private final MessageSource messageSource;
+    private final Locale locale;
+
+    public BatchValidationReport(BindingResult[] results, MessageSource messageSource, Locale locale) {
+        this.results = results;
+        this.messageSource = messageSource;
+        this.locale = locale;
+    }
+
+    public int getFailedCount() {
+        int failed = 0;
+        for (BindingResult result : results) {
+            if (result.hasErrors()) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    static class Serializer extends StdSerializer<BatchValidationReport> {
+
+        Serializer() {
+            super(BatchValidationReport.class);
+        }
+
+        @Override
+        public void serialize(BatchValidationReport value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(TOTAL);
+            generator.writeNumber(value.results.length);
+            generator.writeFieldName(FAILED);
+            generator.writeNumber(value.getFailedCount());
+            generator.writeFieldName(RESULTS);
+            generator.writeStartArray();
+            for (int i = 0; i < value.results.length; i++) {
+                BindingResult result = value.results[i];
+                if (!result.hasErrors()) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeFieldName(INDEX);
+                generator.writeNumber(i);
+                CompactErrors.writeErrors(generator, result.getAllErrors(), value.messageSource, value.locale);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
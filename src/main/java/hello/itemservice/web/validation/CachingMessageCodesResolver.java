@@ -0,0 +1,118 @@
+package hello.itemservice.web.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만든 메시지 코드 배열을 재사용하는 MessageCodesResolver
+ * rejectValue("price", "range") 할 때마다 DefaultMessageCodesResolver가 range.item.price, range.price, range.java.lang.Integer, range
+ * 문자열을 새로 이어 붙이는 대신 (errorCode, objectName, field, fieldType) 별로 한 번만 만든다.
+ *
+ * 캐시한 배열은 밖으로 내보내지 않고 항상 복사본을 돌려준다.(꺼낸 배열을 고쳐도 다른 요청이 받는 코드는 그대로)
+ * 복사는 문자열 참조만 옮기는 작은 배열 복사라 코드 문자열을 다시 만드는 것보다 훨씬 싸다.
+ * 캐시는 maxSize까지만 채우고 그 이후 새 조합은 캐시 없이 위임 결과를 그대로 돌려준다.(인덱스가 붙은 필드명 같은 조합이 끝없이 쌓이는 것 방지)
+ */
+@Slf4j
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final MessageCodesResolver delegate;
+    private final int maxSize;
+    private final Map<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver() {
+        this(new DefaultMessageCodesResolver(), DEFAULT_MAX_SIZE);
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        Key key = new Key(errorCode, objectName, null, null, true);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = cacheIfRoom(key, delegate.resolveMessageCodes(errorCode, objectName));
+        }
+        return codes.clone();
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, @Nullable Class<?> fieldType) {
+        Key key = new Key(errorCode, objectName, field, fieldType, false);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = cacheIfRoom(key, delegate.resolveMessageCodes(errorCode, objectName, field, fieldType));
+        }
+        return codes.clone();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private String[] cacheIfRoom(Key key, String[] codes) {
+        if (cache.size() >= maxSize) {
+            return codes;
+        }
+        String[] previous = cache.putIfAbsent(key, codes);
+        if (cache.size() == maxSize) {
+            log.info("메시지 코드 캐시가 가득 참 maxSize = {}, 이후 새 조합은 캐시하지 않음", maxSize);
+        }
+        return previous != null ? previous : codes;
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final boolean objectError;
+        private final int hash;
+
+        Key(String errorCode, String objectName, String field, Class<?> fieldType, boolean objectError) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.objectError = objectError;
+            // 조회할 때마다 호출되므로 Objects.hash(가변 인자 배열 생성) 대신 직접 계산
+            int h = Objects.hashCode(errorCode);
+            h = 31 * h + Objects.hashCode(objectName);
+            h = 31 * h + Objects.hashCode(field);
+            h = 31 * h + Objects.hashCode(fieldType);
+            this.hash = 31 * h + (objectError ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return objectError == other.objectError
+                    && fieldType == other.fieldType
+                    && Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.context.MessageSource;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 간단한 검증 오류 응답 : 필드, 오류 코드, 메시지만 내려줌
+ * {"errors":[{"field":"price","code":"Range","message":"..."},{"code":"totalPriceMin","message":"..."}]}
+ *
+ * getAllErrors()를 그대로 JSON으로 바꾸면 codes 배열, arguments, DefaultMessageSourceResolvable 내부까지 전부 나간다.
+ * 여기서는 JSON으로 바꿀 때 메시지를 찾아서 JsonGenerator로 바로 쓴다.(중간 Map이나 DTO를 만들지 않음)
+ */
+@JsonSerialize(using = CompactErrors.Serializer.class)
+public class CompactErrors {
+
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final SerializedString FIELD = new SerializedString("field");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    private final List<ObjectError> errors;
+    private final MessageSource messageSource;
+    private final Locale locale;
+
+    public CompactErrors(List<ObjectError> errors, MessageSource messageSource, Locale locale) {
+        this.errors = errors;
+        this.messageSource = messageSource;
+        this.locale = locale;
+    }
+
+    /**
+     * "errors":[...] 필드를 씀(대량 등록 결과 한 줄에도 같은 형식 사용)
+     */
+    static void writeErrors(JsonGenerator generator, List<ObjectError> errors,
+                            MessageSource messageSource, Locale locale) throws IOException {
+        generator.writeFieldName(ERRORS);
+        generator.writeStartArray();
+        for (ObjectError error : errors) {
+            generator.writeStartObject();
+            if (error instanceof FieldError) {
+                generator.writeFieldName(FIELD);
+                generator.writeString(((FieldError) error).getField());
+            }
+            generator.writeFieldName(CODE);
+            generator.writeString(error.getCode());
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(messageSource.getMessage(error, locale));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    static class Serializer extends StdSerializer<CompactErrors> {
+
+        Serializer() {
+            super(CompactErrors.class);
+        }
+
+        @Override
+        public void serialize(CompactErrors value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            writeErrors(generator, value.errors, value.messageSource, value.locale);
+            generator.writeEndObject();
+        }
+    }
+}
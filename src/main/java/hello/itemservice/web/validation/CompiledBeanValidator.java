@@ -0,0 +1,407 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.GroupSequence;
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bean Validation 제약 조건(@NotBlank, @NotNull, @Range, @Max)을 애플리케이션 시작 시점에 일반 자바 검사 코드로 바꿔둔 검증기
+ * Hibernate Validator는 요청마다 메타데이터를 따라가며 리플렉션으로 값을 꺼내고 그룹을 걸러내고 ConstraintViolation, 경로 객체를 만든다.
+ * 여기서는 시작할 때 (클래스, 그룹) 조합마다 한 번만 메타데이터를 읽어서 실제로 적용되는 검사만 순서대로 펼친 목록(검증 계획)을 만들어 두고
+ * 요청마다 그대로 실행한다.(getter는 LambdaMetafactory로 만든 람다) 계획은 시작할 때 미리 실행해서 첫 요청 전에 예열한다.
+ *
+ * - 폼(ItemSaveForm, ItemUpdateForm) : Default 그룹
+ * - Item(V3) : Default, SaveCheck, UpdateCheck 그룹(@Validated(SaveCheck.class))
+ *
+ * 오류는 SpringValidatorAdapter와 같은 코드/인자/기본 메시지로 남긴다.(NotBlank.item.itemName, Range.item.price ...)
+ * item.validation.fail-fast=true 이면 첫 번째 오류에서 멈춘다.(Hibernate Validator fail_fast와 같음, 기본은 전체 검사)
+ * 계획을 만들 수 없는 조합(지원하지 않는 제약 조건, 클래스 레벨 제약 조건, @GroupSequence 등)은 원래 Bean Validator로 넘긴다.
+ */
+@Slf4j
+@Component
+public class CompiledBeanValidator implements SmartValidator {
+
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+    private static final Object[] NO_HINTS = {};
+    private static final int WARM_UP_ITERATIONS = 2_000;
+
+    private final SpringValidatorAdapter fallback;
+    private final MessageInterpolator messageInterpolator;
+    private final boolean failFast;
+    private final Map<Class<?>, List<ValidationPlan>> plans = new HashMap<>();   // 시작할 때만 채우고 이후에는 읽기만 함
+
+    public CompiledBeanValidator(ValidatorFactory validatorFactory) {
+        this(validatorFactory, false);
+    }
+
+    @Autowired
+    public CompiledBeanValidator(ValidatorFactory validatorFactory,
+                                 @Value("${item.validation.fail-fast:false}") boolean failFast) {
+        javax.validation.Validator validator = validatorFactory.getValidator();
+        this.fallback = new SpringValidatorAdapter(validator);
+        this.messageInterpolator = validatorFactory.getMessageInterpolator();
+        this.failFast = failFast;
+
+        compilePlan(validator, ItemSaveForm.class, Default.class);
+        compilePlan(validator, ItemUpdateForm.class, Default.class);
+        compilePlan(validator, Item.class, Default.class);
+        compilePlan(validator, Item.class, SaveCheck.class);
+        compilePlan(validator, Item.class, UpdateCheck.class);
+    }
+
+    public boolean isCompiled(Class<?> clazz) {
+        return plans.containsKey(clazz);
+    }
+
+    public boolean isCompiled(Class<?> clazz, Class<?>... groups) {
+        return findPlan(clazz, groups.length == 0 ? NO_HINTS : groups) != null;
+    }
+
+    private void compilePlan(javax.validation.Validator validator, Class<?> type, Class<?>... groups) {
+        List<FieldConstraint> constraints = compile(type, validator.getConstraintsForClass(type), groups);
+        if (constraints == null) {
+            log.info("검증 계획을 만들 수 없어서 Bean Validator 사용 class = {}, groups = {}", type.getName(), Arrays.toString(groups));
+            return;
+        }
+        ValidationPlan plan = new ValidationPlan(Set.of(groups), constraints);
+        plans.computeIfAbsent(type, key -> new ArrayList<>()).add(plan);
+        warmUp(type, plan);
+        log.info("검증 계획 컴파일 class = {}, groups = {}, 제약 조건 = {}개", type.getSimpleName(),
+                Arrays.toString(Arrays.stream(groups).map(Class::getSimpleName).toArray()), constraints.size());
+    }
+
+    /**
+     * 빈 객체(필수 값 누락 오류)로 계획을 미리 실행해서 getter 람다, 기본 메시지 캐시, JIT 컴파일을 첫 요청 전에 끝내둠
+     */
+    private void warmUp(Class<?> type, ValidationPlan plan) {
+        Object target;
+        try {
+            target = BeanUtils.instantiateClass(type);
+        } catch (BeanInstantiationException e) {
+            return;
+        }
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            execute(plan, target, new BeanPropertyBindingResult(target, "warmUp"));
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return isCompiled(clazz) || fallback.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, NO_HINTS);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        ValidationPlan plan = findPlan(target.getClass(), validationHints);
+        if (plan == null) {
+            fallback.validate(target, errors, validationHints);
+            return;
+        }
+        execute(plan, target, errors);
+    }
+
+    private void execute(ValidationPlan plan, Object target, Errors errors) {
+        for (FieldConstraint constraint : plan.constraints) {
+            Object value = constraint.getter.apply(target);
+            if (!constraint.check.test(value)) {
+                constraint.reject(errors, value);
+                if (failFast) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 검증 힌트(@Validated의 그룹)와 그룹 조합이 같은 계획, 힌트가 없으면 Default
+     */
+    private ValidationPlan findPlan(Class<?> type, Object[] validationHints) {
+        List<ValidationPlan> candidates = plans.get(type);
+        if (candidates == null) {
+            return null;
+        }
+        for (ValidationPlan plan : candidates) {
+            if (plan.matches(validationHints)) {
+                return plan;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 그룹에 해당하는 제약 조건만 골라서 필드 선언 순서대로 펼친 검사 목록 생성(같은 필드 안에서는 null 검사 먼저)
+     * 하나라도 지원하지 않는 게 있으면 null
+     */
+    private List<FieldConstraint> compile(Class<?> type, BeanDescriptor bean, Class<?>[] groups) {
+        if (type.isAnnotationPresent(GroupSequence.class)
+                || Arrays.stream(groups).anyMatch(group -> group.isAnnotationPresent(GroupSequence.class))
+                || !bean.findConstraints().unorderedAndMatchingGroups(groups).getConstraintDescriptors().isEmpty()) {
+            return null;
+        }
+
+        List<FieldConstraint> plan = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return null;
+            }
+            Set<ConstraintDescriptor<?>> descriptors = property.findConstraints()
+                    .unorderedAndMatchingGroups(groups)
+                    .getConstraintDescriptors();
+            if (descriptors.isEmpty()) {
+                continue;
+            }
+            java.beans.PropertyDescriptor beanProperty = BeanUtils.getPropertyDescriptor(type, property.getPropertyName());
+            if (beanProperty == null || beanProperty.getReadMethod() == null) {
+                return null;
+            }
+            Function<Object, Object> getter = compileGetter(beanProperty.getReadMethod());
+
+            for (ConstraintDescriptor<?> descriptor : descriptors) {
+                Predicate<Object> check = compileCheck(descriptor.getAnnotation(), property.getElementClass());
+                if (check == null) {
+                    return null;
+                }
+                plan.add(new FieldConstraint(property.getPropertyName(), getter, check, descriptor));
+            }
+        }
+
+        List<String> fieldOrder = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            fieldOrder.add(field.getName());
+        }
+        plan.sort(Comparator.<FieldConstraint>comparingInt(constraint -> fieldOrder.indexOf(constraint.field))
+                .thenComparing(constraint -> !constraint.isNullCheck())
+                .thenComparing(constraint -> constraint.code));
+        return plan;
+    }
+
+    /**
+     * Hibernate Validator 기본 구현과 같은 판정(null은 @NotNull, @NotBlank만 실패)
+     */
+    private static Predicate<Object> compileCheck(Annotation annotation, Class<?> type) {
+        if (annotation instanceof NotNull) {
+            return value -> value != null;
+        }
+        if (annotation instanceof NotBlank && CharSequence.class.isAssignableFrom(type)) {
+            return value -> value != null && value.toString().trim().length() > 0;
+        }
+        if (annotation instanceof Range && isIntegral(type)) {
+            long min = ((Range) annotation).min();
+            long max = ((Range) annotation).max();
+            return value -> value == null || (((Number) value).longValue() >= min && ((Number) value).longValue() <= max);
+        }
+        if (annotation instanceof Max && isIntegral(type)) {
+            long max = ((Max) annotation).value();
+            return value -> value == null || ((Number) value).longValue() <= max;
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == int.class || type == long.class || type == short.class || type == byte.class;
+    }
+
+    /**
+     * getter 호출을 Function 람다로 만들어 둠(요청마다 Method.invoke 하지 않도록)
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> returnType = MethodType.methodType(readMethod.getReturnType()).wrap().returnType();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    lookup.unreflect(readMethod),
+                    MethodType.methodType(returnType, readMethod.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot compile getter " + readMethod, e);
+        }
+    }
+
+    /**
+     * (클래스, 그룹 조합) 하나의 검증 계획
+     */
+    private static class ValidationPlan {
+
+        private final Set<Class<?>> groups;
+        private final List<FieldConstraint> constraints;
+
+        ValidationPlan(Set<Class<?>> groups, List<FieldConstraint> constraints) {
+            this.groups = groups;
+            this.constraints = constraints;
+        }
+
+        boolean matches(Object[] validationHints) {
+            if (validationHints.length == 0) {
+                return groups.size() == 1 && groups.contains(Default.class);
+            }
+            if (validationHints.length != groups.size()) {
+                return false;
+            }
+            for (Object hint : validationHints) {
+                if (!groups.contains(hint)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 필드 제약 조건 하나, 오류는 SpringValidatorAdapter.processConstraintViolations와 같은 형태로 남김
+     */
+    private class FieldConstraint {
+
+        private final String field;
+        private final Function<Object, Object> getter;
+        private final Predicate<Object> check;
+        private final ConstraintDescriptor<?> descriptor;
+        private final String code;
+        private final List<Object> attributeArguments = new ArrayList<>();   // 애노테이션 속성을 이름 순으로(Range -> max, min)
+        private final Map<Locale, String> defaultMessages = new ConcurrentHashMap<>();
+
+        FieldConstraint(String field, Function<Object, Object> getter, Predicate<Object> check, ConstraintDescriptor<?> descriptor) {
+            this.field = field;
+            this.getter = getter;
+            this.check = check;
+            this.descriptor = descriptor;
+            this.code = descriptor.getAnnotation().annotationType().getSimpleName();
+
+            new TreeMap<>(descriptor.getAttributes()).forEach((name, value) -> {
+                if (!INTERNAL_ATTRIBUTES.contains(name)) {
+                    attributeArguments.add(value instanceof String
+                            ? new DefaultMessageSourceResolvable(new String[]{(String) value}, (String) value)
+                            : value);
+                }
+            });
+        }
+
+        boolean isNullCheck() {
+            Annotation annotation = descriptor.getAnnotation();
+            return annotation instanceof NotNull || annotation instanceof NotBlank;
+        }
+
+        void reject(Errors errors, Object value) {
+            // 타입 변환에 실패한 필드는 건너뜀(typeMismatch 오류만 남김)
+            FieldError bindingError = errors.getFieldError(field);
+            if (bindingError != null && bindingError.isBindingFailure()) {
+                return;
+            }
+
+            String objectName = errors.getObjectName();
+            Object[] arguments = new Object[attributeArguments.size() + 1];
+            arguments[0] = new DefaultMessageSourceResolvable(new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + field, field}, field);
+            for (int i = 0; i < attributeArguments.size(); i++) {
+                arguments[i + 1] = attributeArguments.get(i);
+            }
+
+            if (errors instanceof BindingResult) {
+                BindingResult bindingResult = (BindingResult) errors;
+                String[] codes = bindingResult.resolveMessageCodes(code, field);
+                bindingResult.addError(new FieldError(objectName, bindingResult.getNestedPath() + field, value,
+                        false, codes, arguments, defaultMessage(value)));
+            } else {
+                errors.rejectValue(field, code, arguments, defaultMessage(value));
+            }
+        }
+
+        /**
+         * Hibernate Validator 기본 메시지(ValidationMessages)를 같은 보간기로 만들고 로케일별로 캐시
+         * 스프링이 등록한 보간기는 LocaleContextHolder의 로케일(요청 로케일)을 사용한다.
+         * 검증 값이 들어가는 EL 메시지(${validatedValue} 등)는 캐시하지 않음
+         */
+        private String defaultMessage(Object value) {
+            String template = descriptor.getMessageTemplate();
+            if (template.contains("${")) {
+                return messageInterpolator.interpolate(template, new InterpolationContext(descriptor, value));
+            }
+            return defaultMessages.computeIfAbsent(LocaleContextHolder.getLocale(),
+                    locale -> messageInterpolator.interpolate(template, new InterpolationContext(descriptor, value)));
+        }
+    }
+
+    private static class InterpolationContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> descriptor;
+        private final Object validatedValue;
+
+        InterpolationContext(ConstraintDescriptor<?> descriptor, Object validatedValue) {
+            this.descriptor = descriptor;
+            this.validatedValue = validatedValue;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return validatedValue;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException("Type " + type + " not supported");
+        }
+    }
+}
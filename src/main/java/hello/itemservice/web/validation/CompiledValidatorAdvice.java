@@ -0,0 +1,27 @@
+package hello.itemservice.web.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+/**
+ * 검증 계획이 컴파일된 클래스(ItemSaveForm, ItemUpdateForm, Item)는 WebDataBinder의 글로벌 Bean Validator를 CompiledBeanValidator로 교체
+ * 그룹 조합(@Validated(SaveCheck.class))에 맞는 계획이 없으면 CompiledBeanValidator가 원래 Bean Validator로 넘긴다.
+ * @ModelAttribute, @RequestBody 모두 바인더를 만들 때 이 메서드를 거친다.
+ * 글로벌 @InitBinder가 먼저 실행되므로 컨트롤러의 @InitBinder에서 addValidators 한 검증기는 그대로 남는다.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CompiledValidatorAdvice {
+
+    private final CompiledBeanValidator compiledBeanValidator;
+
+    @InitBinder
+    public void initBinder(WebDataBinder dataBinder) {
+        Object target = dataBinder.getTarget();
+        if (target != null && compiledBeanValidator.isCompiled(target.getClass())) {
+            dataBinder.replaceValidators(compiledBeanValidator);
+        }
+    }
+}
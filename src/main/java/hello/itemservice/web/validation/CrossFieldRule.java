@@ -0,0 +1,98 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.validation.Errors;
+
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * 여러 필드를 같이 보는 복합 룰(글로벌 오류)을 자바 코드로 선언
+ * 예) CrossFieldRule.product(ItemPricing::getPrice, ItemPricing::getQuantity).atLeast(10000).rejectAs("totalPriceMin")
+ *
+ * @ScriptAssert처럼 스크립트 엔진(Nashorn)으로 식을 해석하지 않고, 선언할 때 getter 람다와 비교 조건으로 바로 만들어진다.
+ * 위반하면 errors.reject(오류 코드, {기준 값, 계산 값})로 컨트롤러에 직접 작성하던 것과 같은 오류를 남긴다.
+ * 계산에 쓰는 필드 중 null이 있으면 검사하지 않는다.(필드 오류 @NotNull로 처리)
+ */
+public final class CrossFieldRule<T> {
+
+    private final Expression<T> expression;
+    private final boolean lowerBound;
+    private final int bound;
+    private final String errorCode;
+
+    private CrossFieldRule(Expression<T> expression, boolean lowerBound, int bound, String errorCode) {
+        this.expression = expression;
+        this.lowerBound = lowerBound;
+        this.bound = bound;
+        this.errorCode = errorCode;
+    }
+
+    public static <T> Expression<T> product(Function<? super T, Integer> left, Function<? super T, Integer> right) {
+        return new Expression<>(left, right, (a, b) -> a * b);
+    }
+
+    public static <T> Expression<T> sum(Function<? super T, Integer> left, Function<? super T, Integer> right) {
+        return new Expression<>(left, right, Long::sum);
+    }
+
+    /**
+     * 위반하면 글로벌 오류를 남기고 false
+     */
+    public boolean validate(T target, Errors errors) {
+        Integer left = expression.left.apply(target);
+        Integer right = expression.right.apply(target);
+        if (left == null || right == null) {
+            return true;
+        }
+        // int로 계산하면 1,000,000 * 9,999 같은 값이 넘쳐서 음수가 되므로 long으로 계산
+        long value = expression.operator.applyAsLong(left, right);
+        if (lowerBound ? value >= bound : value <= bound) {
+            return true;
+        }
+        Object actual = (value == (int) value) ? (Object) (int) value : (Object) value;
+        errors.reject(errorCode, new Object[]{bound, actual}, null);
+        return false;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public static final class Expression<T> {
+
+        private final Function<? super T, Integer> left;
+        private final Function<? super T, Integer> right;
+        private final LongBinaryOperator operator;
+
+        private Expression(Function<? super T, Integer> left, Function<? super T, Integer> right, LongBinaryOperator operator) {
+            this.left = left;
+            this.right = right;
+            this.operator = operator;
+        }
+
+        public Bound<T> atLeast(int min) {
+            return new Bound<>(this, true, min);
+        }
+
+        public Bound<T> atMost(int max) {
+            return new Bound<>(this, false, max);
+        }
+    }
+
+    public static final class Bound<T> {
+
+        private final Expression<T> expression;
+        private final boolean lowerBound;
+        private final int bound;
+
+        private Bound(Expression<T> expression, boolean lowerBound, int bound) {
+            this.expression = expression;
+            this.lowerBound = lowerBound;
+            this.bound = bound;
+        }
+
+        public CrossFieldRule<T> rejectAs(String errorCode) {
+            return new CrossFieldRule<>(expression, lowerBound, bound, errorCode);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MessageCodesResolver;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ItemSaveForm 목록을 병렬로 검증(Bean Validation 제약 조건 + 가격 * 수량 복합 룰, ItemSaveFormValidator와 같음)
+ * 목록을 연속된 구간(chunk)으로 나눠서 스레드 수가 정해진 ForkJoinPool에서 검증하고, 결과는 요소 번호 자리에 그대로 넣는다.
+ * 요소끼리 서로 영향을 주지 않기 때문에 순서대로 검증한 결과와 항상 같다.
+ *
+ * 구간이 너무 작으면 스레드 전환 비용이 더 크므로 MIN_CHUNK_SIZE 이하 목록은 요청 스레드에서 바로 검증한다.
+ */
+@Slf4j
+@Component
+public class ItemBatchValidator {
+
+    static final int MIN_CHUNK_SIZE = 256;
+    private static final String OBJECT_NAME = "item";
+
+    private final ItemSaveFormValidator itemSaveFormValidator;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param threads 검증 스레드 수, 0 이하면 CPU 코어 수(요청이 몰려도 이 이상 늘어나지 않음)
+     */
+    public ItemBatchValidator(ItemSaveFormValidator itemSaveFormValidator, MessageCodesResolver messageCodesResolver,
+                              @Value("${item.batch-validation.threads:0}") int threads) {
+        this.itemSaveFormValidator = itemSaveFormValidator;
+        this.messageCodesResolver = messageCodesResolver;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        log.info("일괄 검증 스레드 = {}", pool.getParallelism());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return forms와 같은 순서의 검증 결과
+     */
+    public BindingResult[] validate(List<ItemSaveForm> forms) {
+        BindingResult[] results = new BindingResult[forms.size()];
+        int chunkCount = Math.min(pool.getParallelism(), (forms.size() + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (chunkCount <= 1) {
+            validateRange(forms, results, 0, forms.size());
+            return results;
+        }
+
+        // 첫 구간은 기다리는 동안 요청 스레드에서 직접 검증
+        int chunkSize = (forms.size() + chunkCount - 1) / chunkCount;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount - 1);
+        for (int from = chunkSize; from < forms.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(forms.size(), from + chunkSize);
+            tasks.add(pool.submit(() -> validateRange(forms, results, start, end)));
+        }
+        validateRange(forms, results, 0, chunkSize);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return results;
+    }
+
+    private void validateRange(List<ItemSaveForm> forms, BindingResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ItemSaveForm form = forms.get(i) != null ? forms.get(i) : new ItemSaveForm();  // JSON null은 빈 폼으로 검증
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+            bindingResult.setMessageCodesResolver(messageCodesResolver);
+            itemSaveFormValidator.validate(form, bindingResult);
+            results[i] = bindingResult;
+        }
+    }
+}
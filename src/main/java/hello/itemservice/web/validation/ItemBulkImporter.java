@@ -0,0 +1,312 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 대량 등록
+ * 요청 바디(JSON 배열 또는 CSV)를 한 건씩 읽으면서 검증하고, 검증을 통과한 상품은 BATCH_SIZE 단위로 모아서 저장한다.
+ * 결과는 한 줄에 한 건씩(NDJSON) 배치마다 바로 내려보내서 요청/응답 전체를 메모리에 올리지 않는다.
+ *
+ * 결과 예) {"row":0,"id":3}
+ *          {"row":1,"errors":[{"field":"price","code":"Range","message":"..."}]}
+ *          {"total":2,"saved":1,"failed":1,"elapsedMs":5,"itemsPerSecond":400}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBulkImporter {
+
+    static final int BATCH_SIZE = 500;
+    private static final String OBJECT_NAME = "item";
+
+    private final ItemRepository itemRepository;
+    private final ItemSaveFormValidator itemSaveFormValidator;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final MessageCodesResolver messageCodesResolver;
+
+    /**
+     * [{"itemName":"itemA","price":10000,"quantity":10}, ...]
+     * 객체가 아닌 원소(숫자, 문자열, 배열 등)는 그 행만 notObject 오류로 남기고 계속 읽음
+     */
+    public void importJson(InputStream in, OutputStream out, Locale locale) throws IOException {
+        try (ImportSession session = new ImportSession(out, locale);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("요청 바디는 JSON 배열이어야 합니다.");
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IllegalArgumentException("JSON 배열이 닫히지 않았습니다.");
+                    }
+                    if (token == JsonToken.START_OBJECT) {
+                        JsonNode node = objectMapper.readTree(parser);
+                        session.accept(text(node, "itemName"), text(node, "price"), text(node, "quantity"));
+                    } else {
+                        parser.skipChildren();
+                        session.reject("notObject");
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                session.abort(e);
+            }
+        }
+    }
+
+    /**
+     * itemName,price,quantity(첫 줄 헤더는 생략 가능, 쌍따옴표로 감싼 값 지원)
+     */
+    public void importCsv(InputStream in, OutputStream out, Locale locale) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (ImportSession session = new ImportSession(out, locale)) {
+            try {
+                String line;
+                boolean first = true;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    List<String> columns = splitCsv(line);
+                    if (first && isHeader(columns)) {
+                        first = false;
+                        continue;
+                    }
+                    first = false;
+                    session.accept(column(columns, 0), column(columns, 1), column(columns, 2));
+                }
+            } catch (IOException e) {
+                session.abort(e);
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    private static String column(List<String> columns, int index) {
+        return index < columns.size() ? columns.get(index) : null;
+    }
+
+    private static boolean isHeader(List<String> columns) {
+        return columns.size() >= 3
+                && "itemName".equalsIgnoreCase(columns.get(0).trim())
+                && "price".equalsIgnoreCase(columns.get(1).trim())
+                && "quantity".equalsIgnoreCase(columns.get(2).trim());
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> columns = new ArrayList<>(3);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString());
+        return columns;
+    }
+
+    /**
+     * 한 번의 대량 등록 요청 처리 상태(배치 모으기, 결과 쓰기, 통계)
+     */
+    private class ImportSession implements AutoCloseable {
+
+        private final JsonGenerator generator;
+        private final Locale locale;
+        private final long startTime = System.nanoTime();
+
+        private final List<ItemSaveForm> pendingForms = new ArrayList<>(BATCH_SIZE);
+        private final List<BindingResult> pendingResults = new ArrayList<>(BATCH_SIZE);
+
+        private int total;
+        private int saved;
+        private int failed;
+
+        ImportSession(OutputStream out, Locale locale) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+            this.locale = locale;
+        }
+
+        void accept(String itemName, String price, String quantity) throws IOException {
+            ItemSaveForm form = new ItemSaveForm();
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+            bindingResult.setMessageCodesResolver(messageCodesResolver);
+
+            form.setItemName(itemName);
+            form.setPrice(toInteger(bindingResult, "price", price));
+            form.setQuantity(toInteger(bindingResult, "quantity", quantity));
+            itemSaveFormValidator.validate(form, bindingResult);
+
+            add(form, bindingResult);
+        }
+
+        /**
+         * 상품으로 읽을 수 없는 행 : 검증 없이 ObjectError 하나만 남김
+         */
+        void reject(String errorCode) throws IOException {
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), OBJECT_NAME);
+            bindingResult.setMessageCodesResolver(messageCodesResolver);
+            bindingResult.reject(errorCode);
+            add(null, bindingResult);
+        }
+
+        private void add(ItemSaveForm form, BindingResult bindingResult) throws IOException {
+            pendingForms.add(form);
+            pendingResults.add(bindingResult);
+            total++;
+            if (pendingForms.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * 모아둔 행 중 검증을 통과한 상품을 한 번에 저장하고 행 순서대로 결과를 내려보냄
+         */
+        private void flush() throws IOException {
+            List<Item> items = new ArrayList<>(pendingForms.size());
+            for (int i = 0; i < pendingForms.size(); i++) {
+                if (!pendingResults.get(i).hasErrors()) {
+                    ItemSaveForm form = pendingForms.get(i);
+                    items.add(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+                }
+            }
+            itemRepository.saveAll(items);
+
+            int row = total - pendingForms.size();
+            int itemIndex = 0;
+            for (BindingResult bindingResult : pendingResults) {
+                generator.writeStartObject();
+                generator.writeNumberField("row", row++);
+                if (bindingResult.hasErrors()) {
+                    CompactErrors.writeErrors(generator, bindingResult.getAllErrors(), messageSource, locale);
+                    failed++;
+                } else {
+                    generator.writeNumberField("id", items.get(itemIndex++).getId());
+                    saved++;
+                }
+                generator.writeEndObject();
+            }
+            generator.flush();
+
+            pendingForms.clear();
+            pendingResults.clear();
+        }
+
+        /**
+         * 요청 바디가 중간에 깨진 경우 : 그때까지 읽은 행은 처리하고 오류 한 줄을 남김
+         */
+        void abort(Exception e) throws IOException {
+            log.info("대량 등록 중단 row = {}", total, e);
+            flush();
+            generator.writeStartObject();
+            generator.writeStringField("error", e.getMessage());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!pendingForms.isEmpty()) {
+                flush();
+            }
+
+            long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+            long itemsPerSecond = total * 1_000_000_000L / elapsedNanos;
+            generator.writeStartObject();
+            generator.writeNumberField("total", total);
+            generator.writeNumberField("saved", saved);
+            generator.writeNumberField("failed", failed);
+            generator.writeNumberField("elapsedMs", elapsedNanos / 1_000_000);
+            generator.writeNumberField("itemsPerSecond", itemsPerSecond);
+            generator.writeEndObject();
+            generator.close();
+
+            log.info("대량 등록 완료 total = {}, saved = {}, failed = {}, {} items/s", total, saved, failed, itemsPerSecond);
+        }
+
+        /**
+         * 폼 바인딩과 같은 규칙(NumberFastPathDataBinder.NumberText : 모든 공백 제거 후 10진수, 16진수 표기 허용)으로 변환
+         * 숫자로 바꿀 수 없으면 폼 바인딩과 같은 typeMismatch 오류(bindingFailure)를 남기고 null
+         * 이후 Bean Validation은 바인딩 실패한 필드를 건너뛴다.
+         */
+        private Integer toInteger(BindingResult bindingResult, String field, String value) {
+            if (value == null) {
+                return null;
+            }
+            switch (NumberFastPathDataBinder.NumberText.check(value, Integer.MAX_VALUE)) {
+                case VALID:
+                    String digits = StringUtils.trimAllWhitespace(value);
+                    return digits.isEmpty() ? null : Integer.valueOf(digits);
+                case MALFORMED:
+                    rejectTypeMismatch(bindingResult, field, value, NumberFastPathDataBinder.typeMismatchMessage(field, Integer.class, value));
+                    return null;
+                default:
+                    // 16진수 표기는 드물어서 원래 규칙(NumberUtils.parseNumber)에 맡김
+                    try {
+                        return NumberUtils.parseNumber(StringUtils.trimAllWhitespace(value), Integer.class);
+                    } catch (NumberFormatException e) {
+                        rejectTypeMismatch(bindingResult, field, value, NumberFastPathDataBinder.typeMismatchMessage(field, Integer.class, value));
+                        return null;
+                    }
+            }
+        }
+
+        private void rejectTypeMismatch(BindingResult bindingResult, String field, String value, String defaultMessage) {
+            String[] codes = bindingResult.resolveMessageCodes("typeMismatch", field);
+            Object[] arguments = {new DefaultMessageSourceResolvable(new String[]{OBJECT_NAME + "." + field, field}, field)};
+            bindingResult.addError(new FieldError(OBJECT_NAME, field, value, true, codes, arguments, defaultMessage));
+        }
+    }
+}
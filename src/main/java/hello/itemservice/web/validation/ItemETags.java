@@ -0,0 +1,50 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.Locale;
+
+/**
+ * 상품 상세/목록 페이지 ETag(강한 ETag)
+ * 상세 : 상품 id + 상품 버전, 목록 : 목록 종류(페이지 목록 / 전체 목록) + 저장소 전체 버전(ItemRepository.getStoreVersion)
+ * 같은 URL이라도 locale에 따라 메시지가 달라지므로 locale도 넣는다.(URL이 다르면 캐시도 따로라서 lastId, status 같은 파라미터는 넣지 않음)
+ * 목록 종류는 같은 저장소 버전이어도 페이지 목록과 전체 목록의 내용이 다르므로 넣는다.(ETag만 보고 비교하는 캐시도 있음)
+ *
+ * 컨트롤러는 ItemETags.checkNotModified(request, etag)가 true면 null을 반환 -> 304 응답, 템플릿 렌더링 없음
+ */
+public final class ItemETags {
+
+    // 재시작하면 메모리 저장소 버전이 처음부터 다시 시작하고 템플릿이 바뀌었을 수도 있으므로 실행마다 다른 값을 붙임
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    public static String item(Item item, Locale locale) {
+        return "\"" + EPOCH + "-" + item.getId() + "-" + item.getVersion() + "-" + locale.toLanguageTag() + "\"";
+    }
+
+    public static String items(long storeVersion, Locale locale) {
+        return "\"" + EPOCH + "-items-s" + storeVersion + "-" + locale.toLanguageTag() + "\"";
+    }
+
+    public static String allItems(long storeVersion, Locale locale) {
+        return "\"" + EPOCH + "-all-s" + storeVersion + "-" + locale.toLanguageTag() + "\"";
+    }
+
+    /**
+     * WebRequest.checkNotModified + Vary: Accept-Language
+     * ETag가 언어마다 다르므로 공유 캐시(프록시, CDN)가 언어별로 따로 저장하고 검증하게 한다.(304 응답에도 붙음)
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        }
+        return request.checkNotModified(etag);
+    }
+
+    private ItemETags() {
+    }
+}
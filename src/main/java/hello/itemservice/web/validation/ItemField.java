@@ -0,0 +1,104 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import hello.itemservice.domain.item.Item;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+/**
+ * 조회 API 응답에 넣을 수 있는 상품 필드(fields=id,itemName 으로 선택)
+ * 응답의 필드 순서는 요청 순서와 관계없이 이 enum 순서로 고정
+ */
+public enum ItemField {
+
+    ID("id") {
+        @Override
+        void writeValue(JsonGenerator generator, Item item) throws IOException {
+            writeNumber(generator, item.getId());
+        }
+    },
+    ITEM_NAME("itemName") {
+        @Override
+        void writeValue(JsonGenerator generator, Item item) throws IOException {
+            generator.writeString(item.getItemName());   // null이면 null로 씀
+        }
+    },
+    PRICE("price") {
+        @Override
+        void writeValue(JsonGenerator generator, Item item) throws IOException {
+            writeNumber(generator, item.getPrice());
+        }
+    },
+    QUANTITY("quantity") {
+        @Override
+        void writeValue(JsonGenerator generator, Item item) throws IOException {
+            writeNumber(generator, item.getQuantity());
+        }
+    },
+    VERSION("version") {
+        @Override
+        void writeValue(JsonGenerator generator, Item item) throws IOException {
+            writeNumber(generator, item.getVersion());
+        }
+    };
+
+    private static final ItemField[] ALL = values();
+
+    private final String fieldName;
+    private final SerializedString serializedName;     // 필드 이름은 미리 인코딩해 둠
+
+    ItemField(String fieldName) {
+        this.fieldName = fieldName;
+        this.serializedName = new SerializedString(fieldName);
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    void write(JsonGenerator generator, Item item) throws IOException {
+        generator.writeFieldName(serializedName);
+        writeValue(generator, item);
+    }
+
+    abstract void writeValue(JsonGenerator generator, Item item) throws IOException;
+
+    /**
+     * "id,itemName" -> [ID, ITEM_NAME], 비어 있으면 전체, 모르는 필드면 400
+     */
+    public static ItemField[] parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<ItemField> selected = EnumSet.noneOf(ItemField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(of(trimmed));
+        }
+        return selected.isEmpty() ? ALL : selected.toArray(new ItemField[0]);
+    }
+
+    private static ItemField of(String fieldName) {
+        for (ItemField field : ALL) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown field '" + fieldName + "'");
+    }
+
+    private static void writeNumber(JsonGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+}
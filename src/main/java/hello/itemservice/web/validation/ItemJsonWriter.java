@@ -0,0 +1,73 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * 조회 API 응답 쓰기 : 상품을 DTO로 옮기지 않고 JsonGenerator로 바로 씀(선택한 필드만)
+ * 목록은 반복자에서 한 건씩 꺼내 쓰므로 응답 전체가 메모리에 올라가지 않는다.(생성기 버퍼가 차면 그때그때 내보냄)
+ *
+ * 상품 : {"id":1,"itemName":"itemA","price":10000,"quantity":10,"version":1}
+ * 페이지 : {"items":[...],"nextId":20}, 목록 : [...]
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemJsonWriter {
+
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString NEXT_ID = new SerializedString("nextId");
+
+    private final ObjectMapper objectMapper;
+
+    public void writeItem(Item item, ItemField[] fields, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writeItem(generator, item, fields);
+        }
+    }
+
+    public void writePage(ItemPage page, ItemField[] fields, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName(ITEMS);
+            generator.writeStartArray();
+            for (Item item : page.getItems()) {
+                writeItem(generator, item, fields);
+            }
+            generator.writeEndArray();
+            generator.writeFieldName(NEXT_ID);
+            if (page.getNextId() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(page.getNextId());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    public void writeItems(Iterator<Item> items, ItemField[] fields, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            while (items.hasNext()) {
+                writeItem(generator, items.next(), fields);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writeItem(JsonGenerator generator, Item item, ItemField[] fields) throws IOException {
+        generator.writeStartObject();
+        for (ItemField field : fields) {
+            field.write(generator, item);
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,93 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 전체 상품 목록(v4/itemsAll.html) 스트리밍 렌더링
+ * 페이지 틀을 먼저 렌더링해서 <!--rows--> 앞부분을 바로 보내고(첫 바이트),
+ * 행은 ItemRepository.iterator로 chunkSize개씩 읽어 itemRow.html의 rows 조각으로 렌더링한 뒤 청크마다 flush 한다.
+ * 메모리에는 한 청크의 상품과 출력 버퍼만 있으므로 상품 수가 늘어도 첫 바이트 시간과 힙 사용량이 일정하다.
+ *
+ * 행 캐시(ItemRowCache)는 쓰지 않음(한 번 훑고 지나가는 전체 목록이 목록 페이지용 캐시를 다 밀어내지 않도록)
+ * 행은 요청 스레드가 아닌 스레드에서 렌더링하므로 요청/응답에 묶인 WebContext 대신 스트림마다 새 Context를 쓴다.
+ */
+@Slf4j
+@Component
+public class ItemListStreamer {
+
+    static final String PAGE_TEMPLATE = "validation/v4/itemsAll";
+    static final String ROWS_MARKER = "<!--rows-->";
+    private static final Set<String> ROWS_FRAGMENT = Set.of("rows");
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    private final ITemplateEngine templateEngine;
+    private final ItemRepository itemRepository;
+    private final int chunkSize;
+
+    public ItemListStreamer(ITemplateEngine templateEngine, ItemRepository itemRepository,
+                            @Value("${item.list-stream.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("item.list-stream.chunk-size must be positive: " + chunkSize);
+        }
+        this.templateEngine = templateEngine;
+        this.itemRepository = itemRepository;
+        this.chunkSize = chunkSize;
+        log.info("상품 목록 스트리밍 청크 = {}개", chunkSize);
+    }
+
+    public StreamingResponseBody stream(Locale locale, HttpServletRequest request, HttpServletResponse response) {
+        // 틀은 요청 스레드에서 렌더링(템플릿 오류는 응답이 나가기 전에 터지도록)
+        WebContext context = new WebContext(request, response, request.getServletContext(), locale);
+        String page = templateEngine.process(PAGE_TEMPLATE, context);
+        int marker = page.indexOf(ROWS_MARKER);
+        if (marker < 0) {
+            throw new IllegalStateException(PAGE_TEMPLATE + " has no " + ROWS_MARKER);
+        }
+        String head = page.substring(0, marker);
+        String tail = page.substring(marker + ROWS_MARKER.length());
+        String contextPath = request.getContextPath();
+
+        return out -> {
+            // 요청 스레드의 context(요청 속성에 변수를 씀)는 넘기지 않고 행 전용 컨텍스트를 새로 만듦
+            Context rowContext = ItemRowCache.rowContext(locale, contextPath);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            writer.write(head);
+            writer.flush();
+
+            List<Item> chunk = new ArrayList<>(chunkSize);
+            Iterator<Item> items = itemRepository.iterator(chunkSize);
+            while (items.hasNext()) {
+                chunk.add(items.next());
+                if (chunk.size() == chunkSize || !items.hasNext()) {
+                    rowContext.setVariable("items", chunk);
+                    templateEngine.process(ItemRowCache.ROW_TEMPLATE, ROWS_FRAGMENT, rowContext, writer);
+                    writer.flush();
+                    chunk.clear();
+                }
+            }
+
+            writer.write(tail);
+            writer.flush();
+        };
+    }
+}
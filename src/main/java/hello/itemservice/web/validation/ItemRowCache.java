@@ -0,0 +1,174 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 목록(v4/items.html)의 행(<tr>) 렌더링 결과 캐시, 키는 (상품 id, 상품 버전, locale)
+ * 목록 페이지는 캐시에 있는 행은 그대로 쓰고 없는 행만 itemRow.html 조각(th:fragment="row")으로 렌더링한다.
+ *
+ * 상품 id 단위 LRU(최대 maxSize개, 가장 오래 안 쓴 상품부터 제거), 상품 하나에는 가장 최근 버전의 locale별 행만 둔다.
+ * 저장소 변경 알림(ItemChangeListener)을 받으면 그 상품의 행만 지우고, clearStore면 전부 지운다.
+ * 버전이 키에 들어 있어서 알림과 렌더링이 엇갈려도 이전 버전의 행이 새 버전으로 보이는 일은 없다.
+ *
+ * 행은 여러 요청이 같이 쓰므로 요청/응답 없이(Context) 렌더링한다.
+ * WebContext로 렌더링하면 링크가 response.encodeURL을 거쳐서 한 사용자의 ;jsessionid가 캐시에 들어갈 수 있음
+ */
+@Slf4j
+@Component
+public class ItemRowCache {
+
+    static final String ROW_TEMPLATE = "validation/v4/itemRow";
+    private static final Set<String> ROW_FRAGMENT = Set.of("row");
+
+    private final ITemplateEngine templateEngine;
+    private final int maxSize;
+    private final LinkedHashMap<Long, CachedRows> rows;     // rows 자체를 락으로 사용
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ItemRowCache(ITemplateEngine templateEngine, ItemRepository itemRepository,
+                        @Value("${item.row-cache.max-size:10000}") int maxSize) {
+        this.templateEngine = templateEngine;
+        this.maxSize = maxSize;
+        this.rows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedRows> eldest) {
+                if (size() > ItemRowCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        itemRepository.addChangeListener(this::invalidate);
+        log.info("상품 행 캐시 최대 = {}개", maxSize);
+    }
+
+    /**
+     * @return items와 같은 순서의 행 HTML
+     */
+    public List<String> render(List<Item> items, Locale locale, String contextPath) {
+        String[] html = new String[items.size()];
+        int missCount = 0;
+        synchronized (rows) {
+            for (int i = 0; i < html.length; i++) {
+                Item item = items.get(i);
+                CachedRows cached = rows.get(item.getId());
+                if (cached != null && cached.version == item.getVersion()) {
+                    html[i] = cached.byLocale.get(locale);
+                }
+                if (html[i] == null) {
+                    missCount++;
+                }
+            }
+        }
+        hits.add(html.length - missCount);
+        misses.add(missCount);
+        if (missCount == 0) {
+            return Arrays.asList(html);
+        }
+
+        // 렌더링은 락 밖에서
+        for (int i = 0; i < html.length; i++) {
+            if (html[i] == null) {
+                html[i] = renderRow(items.get(i), locale, contextPath);
+            }
+        }
+        synchronized (rows) {
+            for (int i = 0; i < html.length; i++) {
+                put(items.get(i), locale, html[i]);
+            }
+        }
+        return Arrays.asList(html);
+    }
+
+    public void invalidate(Long itemId) {
+        synchronized (rows) {
+            if (itemId == null) {
+                invalidations.add(rows.size());
+                rows.clear();
+            } else if (rows.remove(itemId) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        synchronized (rows) {
+            return rows.size();
+        }
+    }
+
+    private String renderRow(Item item, Locale locale, String contextPath) {
+        Context context = rowContext(locale, contextPath);
+        context.setVariable("item", item);
+        return templateEngine.process(ROW_TEMPLATE, ROW_FRAGMENT, context);
+    }
+
+    /**
+     * itemRow.html 렌더링용 컨텍스트, 링크는 contextPath로만 만든다.(요청/응답과 상관없음)
+     */
+    static Context rowContext(Locale locale, String contextPath) {
+        Context context = new Context(locale);
+        context.setVariable("contextPath", contextPath);
+        return context;
+    }
+
+    /**
+     * 더 새로운 버전이 이미 들어와 있으면 넣지 않음(이전 버전을 렌더링하는 동안 수정된 경우)
+     */
+    private void put(Item item, Locale locale, String html) {
+        CachedRows cached = rows.get(item.getId());
+        if (cached == null || cached.version < item.getVersion()) {
+            cached = new CachedRows(item.getVersion());
+            rows.put(item.getId(), cached);
+        } else if (cached.version > item.getVersion()) {
+            return;
+        }
+        cached.byLocale.putIfAbsent(locale, html);
+    }
+
+    private static class CachedRows {
+
+        private final long version;
+        private final Map<Locale, String> byLocale = new HashMap<>(4);
+
+        CachedRows(long version) {
+            this.version = version;
+        }
+    }
+}
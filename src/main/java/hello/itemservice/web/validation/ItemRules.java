@@ -0,0 +1,18 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemPricing;
+
+/**
+ * 상품 복합 룰 정의(컨트롤러 V3, V4, 대량 등록/일괄 검증이 같이 사용)
+ */
+public final class ItemRules {
+
+    // 가격 * 수량의 합은 10,000원 이상 -> totalPriceMin {0}: 10000, {1}: 현재 값
+    public static final CrossFieldRule<ItemPricing> TOTAL_PRICE_MIN =
+            CrossFieldRule.<ItemPricing>product(ItemPricing::getPrice, ItemPricing::getQuantity)
+                    .atLeast(10000)
+                    .rejectAs("totalPriceMin");
+
+    private ItemRules() {
+    }
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * 컨트롤러 밖(대량 등록 등)에서 ItemSaveForm을 검증할 때 사용
+ * @Validated ItemSaveForm과 같은 Bean Validation 제약 조건 + 가격 * 수량 복합 룰(totalPriceMin)을 적용한다.
+ */
+@Component
+public class ItemSaveFormValidator {
+
+    private final SpringValidatorAdapter beanValidator;
+
+    // 스프링 부트가 등록한 LocalValidatorFactoryBean(javax.validation.Validator)을 BindingResult에 오류 코드를 남기는 어댑터로 감쌈
+    public ItemSaveFormValidator(javax.validation.Validator validator) {
+        this.beanValidator = new SpringValidatorAdapter(validator);
+    }
+
+    public void validate(ItemSaveForm form, Errors errors) {
+        beanValidator.validate(form, errors);
+
+        // 특정 필드가 아닌 복합 룰 검증
+        ItemRules.TOTAL_PRICE_MIN.validate(form, errors);
+    }
+}
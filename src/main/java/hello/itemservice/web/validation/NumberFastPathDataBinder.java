@@ -0,0 +1,212 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultBindingErrorProcessor;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item, ItemSaveForm, ItemUpdateForm의 Integer/Long 필드에 숫자가 아닌 값("abc")이 들어오면 예외 없이 typeMismatch 오류를 만드는 바인더
+ *
+ * 기본 바인더는 "abc"를 ConversionService로 한 번, 기본 PropertyEditor(CustomNumberEditor)로 한 번 더 변환하면서
+ * NumberFormatException -> ConversionFailedException -> TypeMismatchException을 만들고(스택 트레이스 포함),
+ * DefaultBindingErrorProcessor가 그걸 받아서 FieldError를 만든다.
+ *
+ * 여기서는 바인딩 전에 같은 규칙(NumberUtils.parseNumber : 모든 공백 제거 후 10진수)으로 예외 없이 검사하고,
+ * 실패한 값은 바인딩에서 빼고 DefaultBindingErrorProcessor와 같은 FieldError(코드, 인자, 거절된 값, 기본 메시지)를 직접 넣는다.
+ * 판단하기 애매한 값(16진수 0x.., 같은 이름의 파라미터 여러 개, 커스텀 에디터)이 하나라도 있으면 전부 원래 바인딩으로 넘긴다.
+ * (FieldError.unwrap으로 원래 예외를 꺼낼 수는 없음)
+ */
+public class NumberFastPathDataBinder extends ExtendedServletRequestDataBinder {
+
+    private static final Map<Class<?>, Map<String, Class<?>>> NUMBER_FIELDS = Map.of(
+            Item.class, numberFields(Item.class),
+            ItemSaveForm.class, numberFields(ItemSaveForm.class),
+            ItemUpdateForm.class, numberFields(ItemUpdateForm.class));
+
+    public NumberFastPathDataBinder(Object target, String objectName) {
+        super(target, objectName);
+    }
+
+    public static boolean supports(Class<?> clazz) {
+        return NUMBER_FIELDS.containsKey(clazz);
+    }
+
+    /**
+     * RequestMappingHandlerAdapter.createDataBinderFactory에서 사용(그 외 대상은 원래 바인더)
+     */
+    public static class Factory extends ServletRequestDataBinderFactory {
+
+        public Factory(List<InvocableHandlerMethod> binderMethods, WebBindingInitializer initializer) {
+            super(binderMethods, initializer);
+        }
+
+        @Override
+        protected ServletRequestDataBinder createBinderInstance(Object target, String objectName, NativeWebRequest request) throws Exception {
+            if (target != null && supports(target.getClass())) {
+                return new NumberFastPathDataBinder(target, objectName);
+            }
+            return super.createBinderInstance(target, objectName, request);
+        }
+    }
+
+    @Override
+    protected void applyPropertyValues(MutablePropertyValues mpvs) {
+        Object target = getTarget();
+        if (target != null && getBindingErrorProcessor().getClass() == DefaultBindingErrorProcessor.class) {
+            Map<String, Class<?>> numberFields = NUMBER_FIELDS.get(target.getClass());
+            if (numberFields != null) {
+                rejectMalformedNumbers(mpvs, numberFields);
+            }
+        }
+        super.applyPropertyValues(mpvs);
+    }
+
+    private void rejectMalformedNumbers(MutablePropertyValues mpvs, Map<String, Class<?>> numberFields) {
+        List<PropertyValue> malformed = null;
+        for (PropertyValue pv : mpvs.getPropertyValues()) {
+            Class<?> type = numberFields.get(pv.getName());
+            if (type == null || pv.getValue() == null) {
+                continue;
+            }
+            if (!(pv.getValue() instanceof String) || findCustomEditor(type, pv.getName()) != null) {
+                return;
+            }
+            switch (NumberText.check((String) pv.getValue(), type == Long.class ? Long.MAX_VALUE : Integer.MAX_VALUE)) {
+                case VALID:
+                    break;
+                case MALFORMED:
+                    if (malformed == null) {
+                        malformed = new ArrayList<>(2);
+                    }
+                    malformed.add(pv);
+                    break;
+                default:
+                    return;
+            }
+        }
+        if (malformed == null) {
+            return;
+        }
+
+        // 기본 바인더는 모든 값을 적용한 뒤 실패한 순서대로 오류를 남김(실패할 수 있는 필드가 숫자 필드뿐이라 순서가 같음)
+        BindingResult bindingResult = getInternalBindingResult();
+        for (PropertyValue pv : malformed) {
+            mpvs.removePropertyValue(pv);
+            String field = pv.getName();
+            String value = (String) pv.getValue();
+            Class<?> type = numberFields.get(field);
+            String[] codes = bindingResult.resolveMessageCodes("typeMismatch", field);
+            Object[] arguments = {new DefaultMessageSourceResolvable(
+                    new String[]{getObjectName() + "." + field, field}, field)};
+            bindingResult.addError(new FieldError(getObjectName(), field, value, true, codes, arguments,
+                    typeMismatchMessage(field, type, value)));
+        }
+    }
+
+    /**
+     * TypeMismatchException(원인 : CustomNumberEditor의 NumberFormatException).getLocalizedMessage()와 같은 문장
+     */
+    static String typeMismatchMessage(String field, Class<?> type, String value) {
+        return "Failed to convert property value of type 'java.lang.String' to required type '" + type.getName()
+                + "' for property '" + field + "'; nested exception is java.lang.NumberFormatException: For input string: \""
+                + StringUtils.trimAllWhitespace(value) + "\"";
+    }
+
+    private static Map<String, Class<?>> numberFields(Class<?> clazz) {
+        Map<String, Class<?>> fields = new HashMap<>();
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(clazz)) {
+            Class<?> type = pd.getPropertyType();
+            if (pd.getWriteMethod() != null && (type == Integer.class || type == Long.class)) {
+                fields.put(pd.getName(), type);
+            }
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    enum NumberText {
+        VALID, MALFORMED, UNKNOWN;
+
+        /**
+         * NumberUtils.parseNumber + CustomNumberEditor(allowEmpty)와 같은 판단을 예외 없이 함
+         * 공백뿐이거나 빈 값은 null로 바인딩되므로 VALID, 16진수 표기는 Integer.decode 규칙까지 맞추지 않고 UNKNOWN
+         * @param max Integer.MAX_VALUE 또는 Long.MAX_VALUE(범위를 넘으면 MALFORMED)
+         */
+        static NumberText check(String text, long max) {
+            int length = text.length();
+            int start = 0;
+            while (start < length && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            if (start == length) {
+                return VALID;
+            }
+
+            // Long.parseLong과 같은 방법으로 음수로 쌓으면서 넘침 검사
+            boolean sign = false;
+            long limit = -max;
+            long result = 0;
+            int digits = 0;
+            for (int i = start; i < length; i++) {
+                char ch = text.charAt(i);
+                if (Character.isWhitespace(ch)) {
+                    continue;   // trimAllWhitespace : 중간 공백도 지움("1 000" -> 1000)
+                }
+                if (!sign && digits == 0 && (ch == '-' || ch == '+')) {
+                    sign = true;
+                    if (ch == '-') {
+                        limit = -max - 1;
+                    }
+                    continue;
+                }
+                if (digits == 0 && (ch == '#' || (ch == '0' && isHexPrefix(text, i)))) {
+                    return UNKNOWN;
+                }
+                int digit = Character.digit(ch, 10);
+                if (digit < 0) {
+                    return MALFORMED;
+                }
+                if (result < limit / 10) {
+                    return MALFORMED;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return MALFORMED;
+                }
+                result -= digit;
+                digits++;
+            }
+            return digits > 0 ? VALID : MALFORMED;
+        }
+
+        private static boolean isHexPrefix(String text, int zero) {
+            for (int i = zero + 1; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (!Character.isWhitespace(ch)) {
+                    return ch == 'x' || ch == 'X';
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.Errors;
+
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 상품명 중복 검증(저장소 조회) -> duplicate {0}: 상품명
+ * ItemRepository는 블로킹 API이므로 조회는 스레드 수가 정해진 전용 풀에서 한다.(요청 스레드, 공용 ForkJoinPool을 막지 않음)
+ * 큐가 가득 차면 요청 스레드에서 직접 조회한다.(더 이상 쌓지 않고 요청 속도를 늦춤)
+ *
+ * 검증 시점의 확인일 뿐이므로 동시에 같은 이름으로 등록하는 두 요청은 둘 다 통과할 수 있다.
+ *
+ * 기존에는 같은 이름의 상품 등록을 허용했으므로 item.validation.unique-name=true 일 때만 검사한다.(기본 : 검사 안 함)
+ * 켜져 있으면 조회가 끝난 뒤의 저장/수정은 writeExecutor(스레드 수 item.async-validation.write-threads, 큐 QUEUE_CAPACITY)에서 한다.
+ * 꺼져 있으면 검증이 요청 스레드에서 끝나므로 저장/수정도 요청 스레드에서 바로 한다.(풀을 만들지 않음)
+ */
+@Slf4j
+@Component
+public class UniqueItemName {
+
+    static final int QUEUE_CAPACITY = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor writeExecutor;
+
+    /**
+     * @param enabled false면 조회하지 않고 항상 통과
+     * @param threads 조회 스레드 수, 0 이하면 CPU 코어 수
+     * @param writeThreads 조회가 끝난 뒤 저장/수정하는 스레드 수
+     */
+    public UniqueItemName(ItemRepository itemRepository,
+                          @Value("${item.validation.unique-name:false}") boolean enabled,
+                          @Value("${item.async-validation.threads:0}") int threads,
+                          @Value("${item.async-validation.write-threads:32}") int writeThreads) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = enabled ? boundedPool("item-async-validation-", poolSize) : null;
+        this.writeExecutor = enabled ? boundedPool("item-async-write-", writeThreads) : null;
+        log.info("상품명 중복 검증 = {}, 비동기 검증 스레드 = {}, 저장 스레드 = {}", enabled, poolSize, writeThreads);
+    }
+
+    /**
+     * 스레드 수 고정, 큐 QUEUE_CAPACITY, 큐가 가득 차면 호출한 스레드에서 실행(더 쌓지 않고 요청 속도를 늦춤)
+     */
+    private static ThreadPoolExecutor boundedPool(String namePrefix, int poolSize) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (enabled) {
+            executor.shutdown();
+            writeExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 조회가 끝난 뒤 이어지는 저장/수정용(AsyncValidation.then), 꺼져 있으면 검증이 바로 끝나서 쓰이지 않음
+     */
+    public Executor writeExecutor() {
+        return enabled ? writeExecutor : Runnable::run;
+    }
+
+    /**
+     * 등록 : 같은 이름의 상품이 하나라도 있으면 오류
+     */
+    public AsyncConstraint<ItemSaveForm> onSave() {
+        return form -> check(form.getItemName(), null);
+    }
+
+    /**
+     * 수정 : 자기 자신(itemId)을 뺀 다른 상품과 이름이 같으면 오류
+     */
+    public AsyncConstraint<ItemUpdateForm> onUpdate(Long itemId) {
+        return form -> check(form.getItemName(), itemId);
+    }
+
+    private CompletableFuture<Consumer<Errors>> check(String itemName, Long excludeId) {
+        // 꺼져 있거나, 비어 있으면(@NotBlank가 잡음) 조회하지 않음
+        if (!enabled || !StringUtils.hasText(itemName)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            if (!exists(itemName, excludeId)) {
+                return null;
+            }
+            return errors -> errors.rejectValue("itemName", "duplicate", new Object[]{itemName}, null);
+        }, executor);
+    }
+
+    /**
+     * 상품명 인덱스의 일치 조회로 같은 이름의 상품만 가져와서(접두사 검색 후 거르지 않음) 수정 중인 자기 자신은 제외
+     */
+    boolean exists(String itemName, Long excludeId) {
+        for (Item item : itemRepository.findAll(ItemSearchCond.exactItemName(itemName))) {
+            if (!Objects.equals(item.getId(), excludeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,32 +1,107 @@
 package hello.itemservice.web.validation;
 
 
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int SCAN_PAGE_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final ItemJsonWriter itemJsonWriter;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ItemBatchValidator itemBatchValidator;
+    private final MessageSource messageSource;
+
+    /**
+     * 조회 API : 저장소에서 꺼낸 상품을 DTO 목록 없이 JsonGenerator로 바로 씀(ItemJsonWriter)
+     * fields=id,itemName 처럼 필요한 필드만 선택 가능(없으면 전체, 모르는 필드면 400)
+     */
+    @GetMapping("/{itemId}")
+    public void item(@PathVariable long itemId, @RequestParam(required = false) String fields,
+                     HttpServletResponse response) throws IOException {
+        ItemField[] selected = ItemField.parse(fields);
+        Item item = itemRepository.findById(itemId);
+        if (item == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        itemJsonWriter.writeItem(item, selected, response.getOutputStream());
+    }
+
+    /**
+     * id 순 페이지 : {"items":[...],"nextId":...}, 다음 페이지는 lastId=nextId(size는 최대 1000)
+     */
+    @GetMapping
+    public void items(@RequestParam(required = false) Long lastId, @RequestParam(defaultValue = "20") int size,
+                      @RequestParam(required = false) String fields, HttpServletResponse response) throws IOException {
+        ItemField[] selected = ItemField.parse(fields);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        itemJsonWriter.writePage(itemRepository.findPage(lastId, pageSize), selected, response.getOutputStream());
+    }
+
+    /**
+     * 검색 : itemName(접두사), minPrice, maxPrice, minQuantity, maxQuantity로 거른 목록(JSON 배열, id 순)
+     * 조건이 있으면 검색 결과를, 없으면 전체를 페이지 단위로 읽으면서 쓴다.(결과 목록을 한 번에 만들지 않음)
+     */
+    @GetMapping("/search")
+    public void search(@ModelAttribute ItemSearchCond cond, @RequestParam(required = false) String fields,
+                       HttpServletResponse response) throws IOException {
+        ItemField[] selected = ItemField.parse(fields);
+        boolean filtered = cond.hasItemName() || cond.hasPriceRange() || cond.hasQuantityRange();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        itemJsonWriter.writeItems(filtered ? itemRepository.iterator(cond, SCAN_PAGE_SIZE) : itemRepository.iterator(SCAN_PAGE_SIZE),
+                selected, response.getOutputStream());
+    }
+
     // @ModelAttribute는 세밀하게 필드 단위로 세밀하게 적용돼서, 특정 필드에 타입이 맞지 않는 오류(바인딩)가 발생해도 나머지 필드는 정상 처리돼서 Validator를 사용한 검증도 적용 가능.
     // @RequestBody는 전체 객체 단위로 적용돼서 HttpMessageConverter의 작동이 성공해서 Item 객체가 만들어져야 Validator 적용 가능.
     // HttpMessageConverter 단계에서 JSON 데이터를 객체로 변경하지 못하면 이후 단계 자체가 진행이 안되고 예외가 터진다.(컨트롤러도 호출x, Validator도 적용x)
 
+    // errors=compact 이면 검증 오류를 필드, 코드, 메시지만 담아서 반환(CompactErrors), 없으면 기존처럼 ObjectError 전체
+    // 요청/응답 포맷은 Content-Type, Accept로 선택 : JSON(기본), CBOR(application/cbor), Smile(application/x-jackson-smile), 검증 오류도 같은 포맷으로 나감
     @PostMapping("/add")
-    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult) {
+    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult,
+                          @RequestParam(value = "errors", required = false) String errorFormat, Locale locale) {
 
         log.info("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
             log.info("검증 오류 발생 errors = {}", bindingResult);
+            if ("compact".equals(errorFormat)) {
+                return new CompactErrors(bindingResult.getAllErrors(), messageSource, locale);
+            }
             return bindingResult.getAllErrors();    // JSON으로 반환됨.(@RestController 때문에 자바 객체가 -> JSON 객체로 바껴서)
         }
 
@@ -34,4 +109,31 @@ public class ValidationItemApiController {
 
         return form;
     }
+
+    /**
+     * 일괄 검증 : ItemSaveForm 배열을 병렬로 검증만 하고(저장x) 오류가 있는 요소 번호별로 결과를 반환
+     * 결과는 요소 순서대로 정해지므로 순서대로 하나씩 검증한 결과와 같다.
+     */
+    @PostMapping("/validate")
+    public BatchValidationReport validateItems(@RequestBody List<ItemSaveForm> forms, Locale locale) {
+        BatchValidationReport report = new BatchValidationReport(itemBatchValidator.validate(forms), messageSource, locale);
+        log.info("일괄 검증 total = {}, failed = {}", forms.size(), report.getFailedCount());
+        return report;
+    }
+
+    /**
+     * 대량 등록 : JSON 배열이나 CSV를 스트리밍으로 읽어서 한 건씩 검증하고, 결과를 한 줄씩(NDJSON) 스트리밍으로 응답
+     * 요청 바디 전체를 객체로 만들지 않기 때문에 @RequestBody 대신 요청/응답 스트림을 직접 사용
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void bulkAddJson(HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkImporter.importJson(request.getInputStream(), response.getOutputStream(), locale);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public void bulkAddCsv(HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkImporter.importCsv(request.getInputStream(), response.getOutputStream(), locale);
+    }
 }
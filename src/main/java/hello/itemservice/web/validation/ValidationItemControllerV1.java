@@ -1,6 +1,7 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -9,10 +10,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Controller
@@ -21,18 +23,26 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private static final Logger log = LoggerFactory.getLogger(ValidationItemControllerV1.class);
+    private static final int PAGE_SIZE = 20;
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long lastId, Model model, ServletWebRequest request, Locale locale) {
+        if (ItemETags.checkNotModified(request, ItemETags.items(itemRepository.getStoreVersion(), locale))) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(lastId, PAGE_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextId", page.getNextId());
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && ItemETags.checkNotModified(request, ItemETags.item(item, locale))) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
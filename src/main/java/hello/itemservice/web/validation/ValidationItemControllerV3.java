@@ -2,6 +2,7 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
@@ -15,9 +16,11 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import java.util.Locale;
+
 
 @Slf4j
 @Controller
@@ -25,18 +28,26 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV3 {
 
+    private static final int PAGE_SIZE = 20;
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long lastId, Model model, ServletWebRequest request, Locale locale) {
+        if (ItemETags.checkNotModified(request, ItemETags.items(itemRepository.getStoreVersion(), locale))) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(lastId, PAGE_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextId", page.getNextId());
         return "validation/v3/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && ItemETags.checkNotModified(request, ItemETags.item(item, locale))) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v3/item";
     }
@@ -80,13 +91,8 @@ public class ValidationItemControllerV3 {
     @PostMapping("/add")
     public String addItemV7(@Validated(SaveCheck.class) @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
 
-        // 특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 특정 필드가 아닌 복합 룰 검증(가격 * 수량 >= 10,000)
+        ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
 
         if (bindingResult.hasErrors()) {
             log.info("errors = {} ", bindingResult);
@@ -133,13 +139,8 @@ public class ValidationItemControllerV3 {
     @PostMapping("/{itemId}/edit")
     public String editV2(@PathVariable Long itemId, @Validated(UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult) {
 
-        // 특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if(resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 특정 필드가 아닌 복합 룰 검증(가격 * 수량 >= 10,000)
+        ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
 
         if (bindingResult.hasErrors()) {
             log.info("errors = {}", bindingResult);
@@ -2,21 +2,30 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemVersionConflictException;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
 
 @Slf4j
 @Controller
@@ -24,18 +33,46 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV4 {
 
+    private static final int PAGE_SIZE = 20;
     private final ItemRepository itemRepository;
+    private final CompiledBeanValidator validator;
+    private final UniqueItemName uniqueItemName;
+    private final ItemRowCache itemRowCache;
+    private final ItemListStreamer itemListStreamer;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long lastId, Model model, ServletWebRequest request, Locale locale) {
+        // 저장소가 그대로면 304(템플릿 렌더링 없음), 저장소 버전을 조회보다 먼저 읽어야 새 내용에 옛 ETag가 붙지 않음
+        if (ItemETags.checkNotModified(request, ItemETags.items(itemRepository.getStoreVersion(), locale))) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(lastId, PAGE_SIZE);
+        model.addAttribute("items", page.getItems());
+        // 바뀌지 않은 상품의 행은 렌더링해 둔 HTML을 그대로 사용
+        model.addAttribute("rows", itemRowCache.render(page.getItems(), locale, request.getRequest().getContextPath()));
+        model.addAttribute("nextId", page.getNextId());
         return "validation/v4/items";
     }
 
+    /**
+     * 전체 상품 목록을 페이지로 나누지 않고 청크 단위로 흘려보냄(ItemListStreamer)
+     */
+    @GetMapping("/all")
+    public ResponseEntity<StreamingResponseBody> allItems(ServletWebRequest request, Locale locale) {
+        if (ItemETags.checkNotModified(request, ItemETags.allItems(itemRepository.getStoreVersion(), locale))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(itemListStreamer.stream(locale, request.getRequest(), request.getResponse()));
+    }
+
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request, Locale locale) {
         Item item = itemRepository.findById(itemId);
+        if (item != null && ItemETags.checkNotModified(request, ItemETags.item(item, locale))) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -79,35 +116,38 @@ public class ValidationItemControllerV4 {
     // 검증할 때 SaveCheck만 검증하게 하기(Bean Validator Group) -> 근데 이거 사용 잘 안함.
     // 등록시 폼에서 전달하는 데이터가 Item 도메인 객체와 딱 맞지 않아서. -> 실무에서는 회원 등록시 약관 정보도 추가로 받으면서 Item domain 객체와 관계없는 수 많은 데이터를 받기 때문
     @PostMapping("/add")
-    public String addItemV7(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+    public CompletableFuture<String> addItemV7(@ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
 
         // @ModelAttribute("item")에서 item을 비우면 Model.Attribute("itemSaveForm", form) 이렇게 들어가게 됨. 이럼 th:object 이름도 바꿔줘야함.
         // 얘는 HTTP 요청 파라미터(URL 쿼리 스트링, POST Form)를 다룰 때 사용
         // @RequestBody는 Http Body의 데이터를 객체로 변환할 때 사용.(주로 API JSON 요청)
 
-        // 특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if(resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 상품명 중복(저장소 조회)은 비동기로 시작하고, 그동안 필드 검증을 직접 실행(@Validated를 쓰면 바인딩 때 먼저 끝나버려서 같이 돌지 못함)
+        CompletableFuture<BindingResult> validation = AsyncValidation.validate(form, bindingResult, () -> {
+            validator.validate(form, bindingResult);
+            // 특정 필드가 아닌 복합 룰 검증(가격 * 수량 >= 10,000)
+            ItemRules.TOTAL_PRICE_MIN.validate(form, bindingResult);
+        }, uniqueItemName.onSave());
 
-        if (bindingResult.hasErrors()) {
-            log.info("errors = {} ", bindingResult);
-            return "validation/v4/addForm";
-        }
+        // 중복 검사가 꺼져 있으면 검증이 이미 끝났으므로 요청 스레드에서 바로 저장
+        return AsyncValidation.then(validation, result -> {
 
-        // 성공 로직
-        Item item = new Item();
-        item.setItemName(form.getItemName());
-        item.setPrice(form.getPrice());
-        item.setQuantity(form.getQuantity());
+            if (result.hasErrors()) {
+                log.info("errors = {} ", result);
+                return "validation/v4/addForm";
+            }
 
-        Item savedItem = itemRepository.save(item);
-        redirectAttributes.addAttribute("itemId", savedItem.getId());
-        redirectAttributes.addAttribute("status", true);
-        return "redirect:/validation/v4/items/{itemId}";
+            // 성공 로직
+            Item item = new Item();
+            item.setItemName(form.getItemName());
+            item.setPrice(form.getPrice());
+            item.setQuantity(form.getQuantity());
+
+            Item savedItem = itemRepository.save(item);
+            redirectAttributes.addAttribute("itemId", savedItem.getId());
+            redirectAttributes.addAttribute("status", true);
+            return "redirect:/validation/v4/items/{itemId}";
+        }, uniqueItemName.writeExecutor());
     }
 
 
@@ -141,29 +181,39 @@ public class ValidationItemControllerV4 {
 
 
     @PostMapping("/{itemId}/edit")
-    public String editV2(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
+    public CompletableFuture<String> editV2(@PathVariable Long itemId, @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
 
-        // 특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if(resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        CompletableFuture<BindingResult> validation = AsyncValidation.validate(form, bindingResult, () -> {
+            validator.validate(form, bindingResult);
+            // 특정 필드가 아닌 복합 룰 검증(가격 * 수량 >= 10,000)
+            ItemRules.TOTAL_PRICE_MIN.validate(form, bindingResult);
+        }, uniqueItemName.onUpdate(itemId));
 
-        if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
-            return "validation/v4/editForm";
-        }
+        // 중복 검사가 꺼져 있으면 검증이 이미 끝났으므로 요청 스레드에서 바로 저장
+        return AsyncValidation.then(validation, result -> {
 
+            if (result.hasErrors()) {
+                log.info("errors = {}", result);
+                return "validation/v4/editForm";
+            }
 
-        Item updateItem = new Item();
-        updateItem.setItemName(form.getItemName());
-        updateItem.setPrice(form.getPrice());
-        updateItem.setQuantity(form.getQuantity());
 
-        itemRepository.update(itemId, updateItem);
-        return "redirect:/validation/v4/items/{itemId}";
+            Item updateItem = new Item();
+            updateItem.setItemName(form.getItemName());
+            updateItem.setPrice(form.getPrice());
+            updateItem.setQuantity(form.getQuantity());
+            updateItem.setVersion(form.getVersion());
+
+            // 수정 폼을 연 뒤 다른 사람이 먼저 수정한 경우 -> 글로벌 오류로 보여주고 다시 수정하게 함
+            try {
+                itemRepository.update(itemId, updateItem);
+            } catch (ItemVersionConflictException e) {
+                log.info("version conflict itemId = {}, expected = {}, current = {}", itemId, e.getExpectedVersion(), e.getCurrentVersion());
+                result.reject("versionConflict");
+                return "validation/v4/editForm";
+            }
+            return "redirect:/validation/v4/items/{itemId}";
+        }, uniqueItemName.writeExecutor());
     }
 
 
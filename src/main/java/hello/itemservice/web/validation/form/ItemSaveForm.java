@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.domain.item.ItemPricing;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,7 +9,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
-public class ItemSaveForm {
+public class ItemSaveForm implements ItemPricing {
 
     @NotBlank
     private String itemName;
@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.domain.item.ItemPricing;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,7 +9,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
-public class ItemUpdateForm {
+public class ItemUpdateForm implements ItemPricing {
 
     @NotNull
     private Long id;
@@ -24,8 +25,7 @@ public class ItemUpdateForm {
     @NotNull
     private Integer quantity;
 
-    
-
-
+    // 수정 폼을 열 때의 상품 버전(hidden), 그 사이 다른 사람이 먼저 수정했으면 저장하지 않음
+    private Long version;
 
 }
@@ -0,0 +1,44 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemRepositoryTest extends ItemRepositoryTest {
+
+    @Override
+    ItemRepository createRepository() {
+        return new ColumnarItemRepository();
+    }
+
+    @Test
+    void findByIdReturnsCopy() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        Item findItem = itemRepository.findById(savedItem.getId());
+        findItem.setPrice(99999);
+
+        //then
+        // 조회 결과는 그때그때 만든 뷰라서 수정해도 저장소에는 반영되지 않음
+        assertThat(itemRepository.findById(savedItem.getId()).getPrice()).isEqualTo(10000);
+    }
+
+    @Test
+    void updateNameManyTimes() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        // 상품명 영역이 여러 번 늘어나고 압축돼도 값이 유지돼야 함
+        for (int i = 0; i < 100000; i++) {
+            itemRepository.update(savedItem.getId(), new Item("item-" + i, 10000, i));
+        }
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item-99999");
+        assertThat(findItem.getQuantity()).isEqualTo(99999);
+    }
+}
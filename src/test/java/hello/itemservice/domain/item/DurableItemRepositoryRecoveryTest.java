@@ -0,0 +1,67 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 상품 수가 다른 두 저장소에서 복구 시간 비교(압축 이후 변경 수는 같음)
+ * 스냅샷 적재는 상품 수에 비례하고, 로그 재실행은 상품 수와 상관없이 꼬리 길이에만 비례해야 한다.
+ * 일반 test에서는 제외, ./gradlew benchmarkTest 로 실행
+ */
+@Tag("benchmark")
+class DurableItemRepositoryRecoveryTest {
+
+    private static final int TAIL_SIZE = 1_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void recoveryTime(int itemCount) throws IOException {
+        Path dir = Files.createTempDirectory("item-recovery");
+        try {
+            DurableItemRepository repository = open(dir);
+            for (int saved = 0; saved < itemCount; saved += BATCH_SIZE) {
+                List<Item> items = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    items.add(new Item("item" + (saved + i), 1000 + i % 1000, i % 9999));
+                }
+                repository.saveAll(items);
+            }
+            repository.compact();
+            for (long id = 1; id <= TAIL_SIZE; id++) {
+                repository.update(id, new Item("updated" + id, 2000, 20));
+            }
+            repository.close();
+
+            DurableItemRepository recovered = open(dir);
+            System.out.printf("items = %,9d : snapshot %,6d ms (%,d items), replay %,4d ms (%,d records)%n",
+                    itemCount, recovered.getSnapshotLoadMillis(), recovered.getRecoveredItemCount(),
+                    recovered.getReplayMillis(), recovered.getReplayedRecordCount());
+            assertThat(recovered.getRecoveredItemCount()).isEqualTo(itemCount);
+            assertThat(recovered.getReplayedRecordCount()).isEqualTo(TAIL_SIZE);
+            assertThat(recovered.findById(1L).getItemName()).isEqualTo("updated1");
+            recovered.close();
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private DurableItemRepository open(Path dir) {
+        DurableItemRepository repository = new DurableItemRepository(dir.toString(), 0);
+        repository.open();
+        return repository;
+    }
+}
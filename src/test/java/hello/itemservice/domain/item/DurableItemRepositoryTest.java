@@ -0,0 +1,143 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DurableItemRepositoryTest extends ItemRepositoryTest {
+
+    Path dir;
+
+    @Override
+    ItemRepository createRepository() {
+        try {
+            dir = Files.createTempDirectory("item-repository");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return open();
+    }
+
+    @Override
+    @AfterEach
+    void afterEach() {
+        super.afterEach();
+        ((DurableItemRepository) itemRepository).close();
+    }
+
+    @Test
+    void recoverFromLog() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        itemRepository.update(item1.getId(), new Item("item1-updated", 15000, 15));
+
+        //when
+        restart();
+
+        //then
+        assertThat(itemRepository.findAll()).hasSize(2);
+        assertThat(itemRepository.findById(item1.getId()).getItemName()).isEqualTo("item1-updated");
+        assertThat(itemRepository.findById(item1.getId()).getVersion()).isEqualTo(2L);
+        assertThat(itemRepository.findById(item2.getId()).getPrice()).isEqualTo(20000);
+        // 재시작 후에도 id는 이어서 발급
+        assertThat(itemRepository.save(new Item("item3", 30000, 30)).getId()).isEqualTo(item2.getId() + 1);
+    }
+
+    @Test
+    void recoverFromSnapshotAndLogTail() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        ((DurableItemRepository) itemRepository).compact();   // 여기까지는 스냅샷으로
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        itemRepository.update(item1.getId(), new Item("item1-updated", 15000, 15));
+
+        //when
+        restart();
+
+        //then
+        assertThat(Files.exists(dir.resolve("snapshot.dat"))).isTrue();
+        assertThat(itemRepository.findById(item1.getId()).getItemName()).isEqualTo("item1-updated");
+        assertThat(itemRepository.findById(item1.getId()).getVersion()).isEqualTo(2L);
+        assertThat(itemRepository.findById(item2.getId()).getItemName()).isEqualTo("item2");
+    }
+
+    @Test
+    void ignoreTornLogTail() throws IOException {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+        ((DurableItemRepository) itemRepository).close();
+
+        // 크래시로 마지막 레코드가 반만 써진 상황
+        try (Stream<Path> files = Files.list(dir)) {
+            Path lastSegment = files.filter(path -> path.toString().endsWith(".log")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+            Files.write(lastSegment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        }
+
+        //when
+        itemRepository = open();
+
+        //then
+        assertThat(itemRepository.findAll()).containsExactly(item);
+    }
+
+    @Test
+    void notApplyWhenLogWriteFails() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+        DurableItemRepository closed = (DurableItemRepository) itemRepository;
+        closed.close();
+
+        //when : 로그가 닫혀서 쓰기 실패
+        assertThatThrownBy(() -> closed.update(item.getId(), new Item("item1-updated", 15000, 15)))
+                .isInstanceOf(CompletionException.class);
+        assertThatThrownBy(() -> closed.save(new Item("item2", 20000, 20)))
+                .isInstanceOf(CompletionException.class);
+
+        //then : 메모리에도 반영되지 않고 디스크와 같음
+        assertThat(closed.findAll()).containsExactly(item);
+        assertThat(closed.findById(item.getId()).getVersion()).isEqualTo(1L);
+        itemRepository = open();
+        assertThat(itemRepository.findAll()).containsExactly(item);
+    }
+
+    @Test
+    void notLogUpdateOfMissingItem() throws IOException {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+        long logSize = logSize();
+
+        //when
+        itemRepository.update(999L, new Item("item2", 20000, 20));
+
+        //then
+        assertThat(logSize()).isEqualTo(logSize);
+    }
+
+    private long logSize() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".log")).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    private void restart() {
+        ((DurableItemRepository) itemRepository).close();
+        itemRepository = open();
+    }
+
+    private DurableItemRepository open() {
+        DurableItemRepository repository = new DurableItemRepository(dir.toString(), 0);
+        repository.open();
+        return repository;
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.function.Supplier;
+
+/**
+ * 저장소 구현체별 힙 사용량 비교(일반 test에서는 제외, ./gradlew benchmarkTest 로 실행)
+ * 1000만 건은 맵 기반 저장소가 수 GB를 쓰기 때문에 benchmarkTest의 maxHeapSize를 넉넉하게 잡아둠
+ */
+@Tag("benchmark")
+class ItemRepositoryFootprintTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000, 10_000_000})
+    void footprint(int itemCount) {
+        long memory = measure(MemoryItemRepository::new, itemCount);
+        long columnar = measure(ColumnarItemRepository::new, itemCount);
+
+        System.out.printf("items = %,d%n", itemCount);
+        System.out.printf("  memory   = %,d MB (%d bytes/item)%n", memory / (1024 * 1024), memory / itemCount);
+        System.out.printf("  columnar = %,d MB (%d bytes/item)%n", columnar / (1024 * 1024), columnar / itemCount);
+    }
+
+    private long measure(Supplier<ItemRepository> factory, int itemCount) {
+        long before = usedHeap();
+
+        ItemRepository repository = factory.get();
+        for (int i = 0; i < itemCount; i++) {
+            repository.save(new Item("item" + i, 1000 + (i % 1000000), i % 9999));
+        }
+
+        long used = usedHeap() - before;
+        repository.clearStore();    // 측정이 끝날 때까지 repository가 살아있도록
+        return used;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,83 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파티션 수(= 저장 스레드 수) 1 ~ CPU 코어 수 에서 동시 저장 처리량과 전체 검색 시간 비교
+ * 일반 test에서는 제외, ./gradlew benchmarkTest 로 실행
+ */
+@Tag("benchmark")
+class ItemRepositoryScalingTest {
+
+    private static final int ITEM_COUNT = 2_000_000;
+    private static final int SCAN_ROUNDS = 5;
+
+    @Test
+    void scaling() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("items = %,d, cores = %d%n", ITEM_COUNT, cores);
+        for (int partitions = 1; partitions <= cores; partitions *= 2) {
+            measure(partitions);
+        }
+        if (Integer.bitCount(cores) != 1) {
+            measure(cores);
+        }
+    }
+
+    private void measure(int partitions) throws Exception {
+        PartitionedItemRepository repository = new PartitionedItemRepository(partitions);
+        try {
+            long saveNanos = saveConcurrently(repository, partitions);
+
+            // 조건 없는 검색 = 파티션별 전체 스캔
+            long scanStart = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < SCAN_ROUNDS; i++) {
+                found = repository.findAll(new ItemSearchCond()).size();
+            }
+            long scanNanos = (System.nanoTime() - scanStart) / SCAN_ROUNDS;
+
+            System.out.printf("  partitions = %2d : save %,10d items/s, findAll %,6d ms (%,d items)%n",
+                    partitions, found * 1_000_000_000L / saveNanos, scanNanos / 1_000_000, found);
+        } finally {
+            repository.clearStore();
+            repository.close();
+        }
+    }
+
+    private long saveConcurrently(ItemRepository repository, int threadCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        int itemsPerThread = ITEM_COUNT / threadCount;
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < itemsPerThread; i++) {
+                    repository.save(new Item("item" + i, 1000 + i % 1000, i % 9999));
+                }
+                return null;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return elapsed;
+    }
+}
@@ -3,13 +3,28 @@ package hello.itemservice.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
 class ItemRepositoryTest {
 
-    ItemRepository itemRepository = new ItemRepository();
+    ItemRepository itemRepository = createRepository();
+
+    // 구현체별 테스트는 이 메서드만 오버라이드
+    ItemRepository createRepository() {
+        return new MemoryItemRepository();
+    }
 
     @AfterEach
     void afterEach() {
@@ -46,6 +61,132 @@ class ItemRepositoryTest {
         assertThat(result).contains(item1, item2);
     }
 
+    @Test
+    void findPage() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 2);
+        ItemPage last = itemRepository.findPage(first.getNextId(), 2);
+
+        //then
+        assertThat(first.getItems()).containsExactly(item1, item2);
+        assertThat(first.getNextId()).isEqualTo(item2.getId());
+        assertThat(last.getItems()).containsExactly(item3);
+        assertThat(last.getNextId()).isNull();
+    }
+
+    @Test
+    void findPageRejectsNonPositiveSize() {
+        itemRepository.save(new Item("item1", 10000, 10));
+
+        // 저장소 구현과 관계없이 같은 예외
+        assertThatThrownBy(() -> itemRepository.findPage(null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemRepository.findPage(null, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void iterator() {
+        //given
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(itemRepository.save(new Item("item" + i, 10000, 10)));
+        }
+
+        //when
+        Iterator<Item> iterator = itemRepository.iterator(2);
+        List<Item> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+
+        //then
+        assertThat(result).containsExactlyElementsOf(saved);
+        assertThat(iterator).isExhausted();
+    }
+
+    @Test
+    void searchIterator() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA", 1000, 10));
+        itemRepository.save(new Item("other", 2000, 20));
+        Item item3 = itemRepository.save(new Item("itemB", 3000, 30));
+        Item item4 = itemRepository.save(new Item("itemC", 4000, 40));
+        itemRepository.save(new Item("itemD", 90000, 50));
+
+        //when 페이지 크기보다 결과가 많아도 findAll(cond)와 같은 순서로 다 나와야 함
+        ItemSearchCond byName = new ItemSearchCond("item", null, null);
+        ItemSearchCond byNameAndPrice = new ItemSearchCond("item", 1000, 50000);
+        ItemSearchCond byQuantity = new ItemSearchCond();
+        byQuantity.setMinQuantity(20);
+        byQuantity.setMaxQuantity(40);
+
+        //then
+        for (ItemSearchCond cond : List.of(byName, byNameAndPrice, byQuantity, new ItemSearchCond())) {
+            List<Item> result = new ArrayList<>();
+            itemRepository.iterator(cond, 2).forEachRemaining(result::add);
+            assertThat(result).containsExactlyElementsOf(itemRepository.findAll(cond));
+        }
+        List<Item> result = new ArrayList<>();
+        itemRepository.iterator(byNameAndPrice, 2).forEachRemaining(result::add);
+        assertThat(result).containsExactly(item1, item3, item4);
+    }
+
+    @Test
+    void findAllByCondition() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA", 1000, 10));
+        Item item2 = itemRepository.save(new Item("itemB", 40000, 20));
+        Item item3 = itemRepository.save(new Item("other", 30000, 30));
+        Item item4 = itemRepository.save(new Item("itemC", 60000, 40));
+
+        //when
+        List<Item> result = itemRepository.findAll(new ItemSearchCond("item", 1000, 50000));
+
+        //then
+        assertThat(result).containsExactly(item1, item2);
+
+        // 수정하면 인덱스도 같이 바뀌어야 함
+        itemRepository.update(item3.getId(), new Item("itemD", 20000, 30));
+        assertThat(itemRepository.findAll(new ItemSearchCond("item", 1000, 50000)))
+                .extracting("itemName")
+                .containsExactly("itemA", "itemB", "itemD");
+    }
+
+    @Test
+    void findAllByExactItemName() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA", 1000, 10));
+        itemRepository.save(new Item("itemAB", 2000, 20));
+        Item item3 = itemRepository.save(new Item("itemA", 3000, 30));
+        itemRepository.save(new Item("item", 4000, 40));
+
+        //when
+        List<Item> result = itemRepository.findAll(ItemSearchCond.exactItemName("itemA"));
+
+        //then 접두사가 같은 상품은 빠져야 함
+        assertThat(result).containsExactly(item1, item3);
+
+        // 이름을 바꾸면 이전 이름으로는 안 찾아지고 새 이름으로 찾아져야 함
+        itemRepository.update(item1.getId(), new Item("itemZ", 1000, 10));
+        assertThat(itemRepository.findAll(ItemSearchCond.exactItemName("itemA"))).extracting("id").containsExactly(item3.getId());
+        assertThat(itemRepository.findAll(ItemSearchCond.exactItemName("itemZ"))).extracting("id").containsExactly(item1.getId());
+    }
+
+    @Test
+    void updateKeepingIndexedValue() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when 가격, 상품명은 그대로 두고 수량만 수정
+        itemRepository.update(item.getId(), new Item("itemA", 10000, 20));
+
+        //then 값이 그대로인 필드의 인덱스 엔트리가 없어지면 안 됨
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, 10000, 10000))).extracting("id").containsExactly(item.getId());
+        assertThat(itemRepository.findAll(new ItemSearchCond("itemA", null, null))).extracting("id").containsExactly(item.getId());
+    }
+
     @Test
     void updateItem() {
         //given
@@ -65,4 +206,154 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        assertThat(savedItem.getVersion()).isEqualTo(1L);
+
+        //when
+        Item updateParam = new Item("item2", 20000, 20);
+        updateParam.setVersion(1L);
+        itemRepository.update(savedItem.getId(), updateParam);
+
+        //then
+        assertThat(updateParam.getVersion()).isEqualTo(2L);
+        assertThat(itemRepository.findById(savedItem.getId()).getVersion()).isEqualTo(2L);
+
+        // 이미 지난 버전으로 수정하면 충돌
+        Item staleParam = new Item("item3", 30000, 30);
+        staleParam.setVersion(1L);
+        assertThatThrownBy(() -> itemRepository.update(savedItem.getId(), staleParam))
+                .isInstanceOf(ItemVersionConflictException.class);
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item2");
+    }
+
+    @Test
+    void concurrentUpdateWithSameVersion() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("item", 10000, 10));
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int quantity = t + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                Item updateParam = new Item("item" + quantity, 10000, quantity);
+                updateParam.setVersion(1L);
+                try {
+                    itemRepository.update(savedItem.getId(), updateParam);
+                    return true;
+                } catch (ItemVersionConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> future : futures) {
+            succeeded += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        // 같은 버전을 보고 수정한 요청 중 하나만 반영
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(itemRepository.findById(savedItem.getId()).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        int threadCount = 16;
+        int itemsPerThread = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>(itemsPerThread);
+                for (int i = 0; i < itemsPerThread; i++) {
+                    ids.add(itemRepository.save(new Item("item" + i, 10000, 10)).getId());
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        // 중복 ID 없이, 유실된 저장 없이 전부 들어가야 함
+        assertThat(ids).hasSize(threadCount * itemsPerThread);
+        assertThat(itemRepository.findAll()).hasSize(threadCount * itemsPerThread);
+        for (Long id : ids) {
+            assertThat(itemRepository.findById(id).getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void readWhileUpdating() throws Exception {
+        //given
+        // 가격 = 수량 * 10 을 항상 지키면서 수정
+        int itemCount = 100;
+        for (int i = 0; i < itemCount; i++) {
+            itemRepository.save(new Item("item1", 10, 1));
+        }
+        int writerCount = 4;
+        int updatesPerWriter = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount + 1);
+
+        //when
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < writerCount; t++) {
+            writers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < updatesPerWriter; i++) {
+                    long id = itemRepository.findPage(null, 1).getItems().get(0).getId() + random.nextInt(itemCount);
+                    int quantity = random.nextInt(1, 1000);
+                    itemRepository.update(id, new Item("item" + quantity, quantity * 10, quantity));
+                }
+            }));
+        }
+        Future<Integer> reader = executor.submit(() -> {
+            int inconsistent = 0;
+            while (!writers.stream().allMatch(Future::isDone)) {
+                List<Item> items = itemRepository.findAll();
+                if (items.size() != itemCount) {
+                    inconsistent++;
+                }
+                for (Item item : items) {
+                    if (item.getPrice() != item.getQuantity() * 10 || !item.getItemName().equals("item" + item.getQuantity())) {
+                        inconsistent++;
+                    }
+                }
+            }
+            return inconsistent;
+        });
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+
+        //then
+        // 수정이 반쯤 반영된 상품을 보면 안 됨
+        assertThat(reader.get()).isZero();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
 }
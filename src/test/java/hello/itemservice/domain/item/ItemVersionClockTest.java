@@ -0,0 +1,49 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemVersionClockTest {
+
+    ItemVersionClock clock = new ItemVersionClock();
+
+    @Test
+    void commitDoesNotWaitForEarlierVersion() {
+        //given : 앞선 쓰기가 begin만 하고 멈춤
+        long stalled = clock.begin();
+        long later = clock.begin();
+
+        //when : 뒤 쓰기는 기다리지 않고 커밋
+        clock.commit(later);
+
+        //then : 뒤 버전은 커밋됐지만 stable은 빈 곳 앞에서 멈춤
+        assertThat(clock.isCommitted(later)).isTrue();
+        assertThat(clock.isCommitted(stalled)).isFalse();
+        assertThat(clock.stable()).isEqualTo(stalled - 1);
+
+        //when : 앞선 쓰기가 커밋하면 쌓인 버전까지 한꺼번에 반영
+        clock.commit(stalled);
+
+        //then
+        assertThat(clock.stable()).isEqualTo(later);
+        assertThat(clock.isCommitted(stalled)).isTrue();
+    }
+
+    @Test
+    void latestCommittedSkipsOnlyUncommittedVersions() {
+        //given : 상품 A 저장(커밋), 상품 B 쓰기는 멈춤, 그 뒤에 상품 A 수정
+        long saved = clock.begin();
+        ItemSnapshot v1 = new ItemSnapshot(1L, 1, saved, saved, "itemA", 10000, 10, null);
+        clock.commit(saved);
+        long stalled = clock.begin();
+        long updated = clock.begin();
+        ItemSnapshot v2 = new ItemSnapshot(1L, 2, updated, saved, "itemA-updated", 20000, 20, v1);
+
+        //when, then : 커밋 전에는 이전 버전, 커밋하면 B를 기다리지 않고 바로 새 버전
+        assertThat(v2.latestCommitted(clock)).isSameAs(v1);
+        clock.commit(updated);
+        assertThat(v2.latestCommitted(clock)).isSameAs(v2);
+        assertThat(clock.stable()).isEqualTo(stalled - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemWriteAheadLogTest {
+
+    @Test
+    void failedBatchIsCutOffAndLaterAppendSurvivesRestart() throws IOException {
+        //given : 첫 배치는 일부만 써지고 실패
+        Path dir = Files.createTempDirectory("item-wal");
+        FaultyChannel[] channel = new FaultyChannel[1];
+        ItemWriteAheadLog log = new ItemWriteAheadLog(dir, 1, path -> {
+            channel[0] = new FaultyChannel(FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            return channel[0];
+        });
+        channel[0].failNextWrite = true;
+
+        //when
+        assertThatThrownBy(() -> log.append(List.of(record(1, "failed"))).join())
+                .isInstanceOf(CompletionException.class);
+        log.append(List.of(record(2, "saved"))).join();
+        log.close();
+
+        //then : 재시작하면 실패한 레코드는 없고 그 뒤에 성공한 레코드는 남아 있음
+        List<ItemLogRecord> replayed = new ArrayList<>();
+        ItemWriteAheadLog.replay(dir, 1, replayed::add);
+        assertThat(replayed).extracting(record -> record.itemName).containsExactly("saved");
+    }
+
+    @Test
+    void rejectAppendsWhenCutOffFails() throws IOException {
+        //given : 쓰기도 실패하고 잘라내기도 실패
+        Path dir = Files.createTempDirectory("item-wal");
+        FaultyChannel[] channel = new FaultyChannel[1];
+        ItemWriteAheadLog log = new ItemWriteAheadLog(dir, 1, path -> {
+            channel[0] = new FaultyChannel(FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            return channel[0];
+        });
+        channel[0].failNextWrite = true;
+        channel[0].failTruncate = true;
+
+        //when
+        assertThatThrownBy(() -> log.append(List.of(record(1, "failed"))).join())
+                .isInstanceOf(CompletionException.class);
+
+        //then : 이후 추가는 모두 거절
+        assertThatThrownBy(() -> log.append(List.of(record(2, "rejected"))).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        log.close();
+    }
+
+    private static ItemLogRecord record(long id, String itemName) {
+        return new ItemLogRecord(ItemLogRecord.SAVE, id, 1, itemName, 10000, 10);
+    }
+
+    /**
+     * 쓰기 도중 실패(일부 바이트만 써지고 IOException), 잘라내기 실패를 흉내 내는 채널
+     */
+    static class FaultyChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        volatile boolean failNextWrite;
+        volatile boolean failTruncate;
+
+        FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer torn = srcs[offset].duplicate();
+                torn.limit(torn.position() + Math.min(5, torn.remaining()));
+                delegate.write(torn);
+                throw new IOException("disk full");
+            }
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("truncate failed");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PartitionedItemRepositoryTest extends ItemRepositoryTest {
+
+    @Override
+    ItemRepository createRepository() {
+        return new PartitionedItemRepository(4);
+    }
+
+    @Override
+    @AfterEach
+    void afterEach() {
+        super.afterEach();
+        ((PartitionedItemRepository) itemRepository).close();
+    }
+
+    @Test
+    void pageThroughAllPartitions() {
+        //given
+        for (int i = 0; i < 103; i++) {
+            itemRepository.save(new Item("item" + i, 1000 * (i % 10 + 1), i));
+        }
+
+        //when
+        List<Item> paged = new ArrayList<>();
+        Long lastId = null;
+        do {
+            ItemPage page = itemRepository.findPage(lastId, 10);
+            paged.addAll(page.getItems());
+            lastId = page.getNextId();
+        } while (lastId != null);
+
+        //then
+        // 파티션별 결과를 병합해도 id 순서 그대로, 빠짐없이
+        assertThat(paged).hasSize(103);
+        assertThat(paged).isEqualTo(itemRepository.findAll());
+        assertThat(paged).extracting("id").isSorted();
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, 3000, 3000))).hasSize(11);
+    }
+}
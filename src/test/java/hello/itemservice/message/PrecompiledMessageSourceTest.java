@@ -0,0 +1,76 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrecompiledMessageSourceTest {
+
+    MessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+    ResourceBundleMessageSource expected = messageSource(new ResourceBundleMessageSource());
+    PrecompiledMessageSource precompiled = messageSource(new PrecompiledMessageSource());
+
+    @Test
+    void sameMessagesAsResourceBundleMessageSource() {
+        List<MessageSourceResolvable> errors = List.of(
+                fieldError("required", "itemName", String.class, null),                 // Level1
+                fieldError("range", "price", Integer.class, new Object[]{1000, 1000000}),
+                fieldError("max", "quantity", Integer.class, new Object[]{9999}),
+                fieldError("min", "quantity", Integer.class, new Object[]{1}),           // Level3
+                fieldError("typeMismatch", "quantity", Integer.class, null),
+                fieldError("NotBlank", "itemName", String.class, new Object[]{fieldName("itemName")}),
+                fieldError("Range", "price", Integer.class, new Object[]{fieldName("price"), 1000000, 1000}),
+                new ObjectError("item", codesResolver.resolveMessageCodes("totalPriceMin", "item"), new Object[]{10000, 900}, null),
+                new ObjectError("item", new String[]{"no_code"}, null, "기본 메시지 {0}"));
+
+        for (Locale locale : new Locale[]{Locale.KOREA, Locale.ENGLISH}) {
+            for (MessageSourceResolvable error : errors) {
+                // 두 번째는 코드 목록별로 기억해 둔 메시지 사용
+                assertThat(precompiled.getMessage(error, locale)).isEqualTo(expected.getMessage(error, locale));
+                assertThat(precompiled.getMessage(error, locale)).isEqualTo(expected.getMessage(error, locale));
+            }
+        }
+    }
+
+    @Test
+    void codeMessage() {
+        assertThat(precompiled.getMessage("hello.name", new Object[]{"Spring"}, Locale.KOREA)).isEqualTo("안녕 Spring");
+        assertThat(precompiled.getMessage("hello.name", new Object[]{"Spring"}, Locale.ENGLISH)).isEqualTo("hello Spring");
+        assertThat(precompiled.getMessage("hello.name", null, Locale.ENGLISH)).isEqualTo("hello {0}");
+        assertThat(precompiled.getMessage("no_code", null, "기본 메시지", Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThatThrownBy(() -> precompiled.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> precompiled.getMessage(new DefaultMessageSourceResolvable("no_code"), Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    private FieldError fieldError(String code, String field, Class<?> fieldType, Object[] arguments) {
+        String[] codes = codesResolver.resolveMessageCodes(code, "item", field, fieldType);
+        return new FieldError("item", field, null, false, codes, arguments, null);
+    }
+
+    private DefaultMessageSourceResolvable fieldName(String field) {
+        return new DefaultMessageSourceResolvable(new String[]{"item." + field, field}, field);
+    }
+
+    private static <T extends ResourceBundleMessageSource> T messageSource(T messageSource) {
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("utf-8");
+        messageSource.setFallbackToSystemLocale(false);
+        if (messageSource instanceof PrecompiledMessageSource) {
+            ((PrecompiledMessageSource) messageSource).afterPropertiesSet();
+        }
+        return messageSource;
+    }
+}
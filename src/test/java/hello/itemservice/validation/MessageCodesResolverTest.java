@@ -1,5 +1,6 @@
 package hello.itemservice.validation;
 
+import hello.itemservice.web.validation.CachingMessageCodesResolver;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.validation.DefaultMessageCodesResolver;
@@ -37,4 +38,40 @@ public class MessageCodesResolverTest {
                 "required"
         );
     }
+
+    @Test
+    void cachingMessageCodesResolver() {
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver();
+
+        // 기본 구현과 같은 코드를 만듦
+        String[] fieldCodes = cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        assertThat(fieldCodes).containsExactly(codesResolver.resolveMessageCodes("range", "item", "price", Integer.class));
+        // 필드 오류 코드도 복사본(고쳐도 다음 호출 결과에 영향 없음)
+        fieldCodes[0] = "changed";
+        assertThat(cachingResolver.resolveMessageCodes("range", "item", "price", Integer.class))
+                .isNotSameAs(fieldCodes)
+                .containsExactly("range.item.price", "range.price", "range.java.lang.Integer", "range");
+
+        String[] objectCodes = cachingResolver.resolveMessageCodes("totalPriceMin", "item");
+        assertThat(objectCodes).containsExactly("totalPriceMin.item", "totalPriceMin");
+        // 객체 오류 코드도 복사본
+        objectCodes[0] = "changed";
+        assertThat(cachingResolver.resolveMessageCodes("totalPriceMin", "item")).containsExactly("totalPriceMin.item", "totalPriceMin");
+
+        // 필드 타입이 다르면 다른 코드
+        assertThat(cachingResolver.resolveMessageCodes("range", "item", "price", null))
+                .containsExactly("range.item.price", "range.price", "range");
+    }
+
+    @Test
+    void cachingMessageCodesResolverMaxSize() {
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver(new DefaultMessageCodesResolver(), 1);
+
+        cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] codes = cachingResolver.resolveMessageCodes("max", "item", "quantity", Integer.class);
+
+        // 가득 차면 캐시하지 않고 결과만 그대로 돌려줌
+        assertThat(codes).containsExactly("max.item.quantity", "max.quantity", "max.java.lang.Integer", "max");
+        assertThat(cachingResolver.resolveMessageCodes("max", "item", "quantity", Integer.class)).isNotSameAs(codes);
+    }
 }
@@ -0,0 +1,184 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import javax.validation.Validation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncValidationTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    UniqueItemName uniqueItemName = new UniqueItemName(itemRepository, true, 2, 2);
+    CompiledBeanValidator validator = new CompiledBeanValidator(Validation.buildDefaultValidatorFactory());
+
+    @AfterEach
+    void afterEach() {
+        uniqueItemName.close();
+    }
+
+    @Test
+    void duplicateItemName() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        ItemSaveForm form = saveForm("itemA", 100, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        BindingResult result = AsyncValidation.validate(form, bindingResult, () -> validator.validate(form, bindingResult),
+                uniqueItemName.onSave()).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(result).isSameAs(bindingResult);
+        assertThat(result.getFieldError("price").getCode()).isEqualTo("Range");
+        FieldError duplicate = result.getFieldError("itemName");
+        assertThat(duplicate.getCodes()).contains("duplicate.item.itemName", "duplicate");
+        assertThat(duplicate.getArguments()).containsExactly("itemA");
+    }
+
+    @Test
+    void prefixIsNotDuplicate() throws Exception {
+        itemRepository.save(new Item("itemAB", 10000, 10));
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        BindingResult result = AsyncValidation.validate(form, bindingResult, () -> validator.validate(form, bindingResult),
+                uniqueItemName.onSave()).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.hasErrors()).isFalse();
+    }
+
+    @Test
+    void updateExcludesSelf() throws Exception {
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 10000, 10));
+
+        assertThat(validateUpdate(itemA.getId(), "itemA").hasErrors()).isFalse();
+        assertThat(validateUpdate(itemA.getId(), "itemB").getFieldError("itemName").getCode()).isEqualTo("duplicate");
+    }
+
+    @Test
+    void blankItemNameIsNotLookedUp() {
+        ItemSaveForm form = saveForm(" ", 10000, 10);
+        CompletableFuture<?> check = uniqueItemName.onSave().check(form);
+
+        // 조회 없이 바로 끝남
+        assertThat(check).isCompletedWithValue(null);
+    }
+
+    @Test
+    void disabledAllowsSameName() {
+        itemRepository.save(new Item("itemA", 10000, 10));
+        UniqueItemName disabled = new UniqueItemName(itemRepository, false, 1, 1);
+        try {
+            // 꺼져 있으면 조회 없이 통과(같은 이름 허용)
+            assertThat(disabled.onSave().check(saveForm("itemA", 10000, 10))).isCompletedWithValue(null);
+        } finally {
+            disabled.close();
+        }
+    }
+
+    @Test
+    void fieldChecksRunWhileLookupIsPending() throws Exception {
+        //given
+        CountDownLatch lookup = new CountDownLatch(1);
+        AsyncConstraint<ItemSaveForm> slow = form -> CompletableFuture.supplyAsync(() -> {
+            await(lookup);
+            return errors -> errors.reject("slow");
+        });
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        CompletableFuture<BindingResult> result = AsyncValidation.validate(form, bindingResult,
+                () -> bindingResult.reject("field"), slow);
+
+        //then
+        assertThat(result).isNotDone();
+        assertThat(bindingResult.getGlobalErrorCount()).isEqualTo(1);
+        lookup.countDown();
+        assertThat(result.get(5, TimeUnit.SECONDS).getGlobalErrors())
+                .extracting(error -> error.getCode())
+                .containsExactly("field", "slow");
+    }
+
+    @Test
+    void continueOnCallingThreadWhenValidationIsDone() {
+        //given : 비동기 검증 없이 끝난 검증
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        CompletableFuture<BindingResult> validation = AsyncValidation.validate(form, bindingResult,
+                () -> validator.validate(form, bindingResult));
+
+        //when
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> next = AsyncValidation.then(validation, result -> Thread.currentThread(),
+                runnable -> {
+                    throw new AssertionError("executor should not be used");
+                });
+
+        //then : 요청 스레드에서 바로 끝남
+        assertThat(next).isCompletedWithValue(caller);
+    }
+
+    @Test
+    void continueOnExecutorWhenLookupIsPending() throws Exception {
+        //given
+        CountDownLatch lookup = new CountDownLatch(1);
+        AsyncConstraint<ItemSaveForm> slow = form -> CompletableFuture.supplyAsync(() -> {
+            await(lookup);
+            return null;
+        });
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        CompletableFuture<BindingResult> validation = AsyncValidation.validate(form, bindingResult, () -> {
+        }, slow);
+
+        //when
+        CompletableFuture<String> next = AsyncValidation.then(validation, result -> Thread.currentThread().getName(),
+                uniqueItemName.writeExecutor());
+        lookup.countDown();
+
+        //then : 조회 풀이 아닌 저장용 풀에서 실행
+        assertThat(next.get(5, TimeUnit.SECONDS)).startsWith("item-async-write-");
+    }
+
+    private BindingResult validateUpdate(Long itemId, String itemName) throws Exception {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(itemId);
+        form.setItemName(itemName);
+        form.setPrice(10000);
+        form.setQuantity(10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        return AsyncValidation.validate(form, bindingResult, () -> validator.validate(form, bindingResult),
+                uniqueItemName.onUpdate(itemId)).get(5, TimeUnit.SECONDS);
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompactErrorsTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writeFieldCodeMessage() throws IOException {
+        //given
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "item");
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 900}, null);
+
+        //when
+        String json = objectMapper.writeValueAsString(new CompactErrors(bindingResult.getAllErrors(), messageSource, Locale.KOREA));
+
+        //then
+        JsonNode errors = objectMapper.readTree(json).get("errors");
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0).get("field").asText()).isEqualTo("itemName");
+        assertThat(errors.get(0).get("code").asText()).isEqualTo("required");
+        assertThat(errors.get(0).get("message").asText()).isEqualTo(messageSource.getMessage(bindingResult.getFieldError(), Locale.KOREA));
+        assertThat(errors.get(1).has("field")).isFalse();
+        assertThat(errors.get(1).get("message").asText()).isEqualTo(messageSource.getMessage(bindingResult.getGlobalError(), Locale.KOREA));
+        assertThat(errors.get(0).size()).isEqualTo(3);  // codes, arguments 같은 내부 값은 나가지 않음
+    }
+}
@@ -0,0 +1,130 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompiledBeanValidatorTest {
+
+    ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+    CompiledBeanValidator compiledValidator = new CompiledBeanValidator(factory);
+    SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(factory.getValidator());
+
+    @Test
+    void compiled() {
+        assertThat(compiledValidator.isCompiled(ItemSaveForm.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(ItemUpdateForm.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(Item.class, SaveCheck.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(Item.class, UpdateCheck.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(Item.class, SaveCheck.class, UpdateCheck.class)).isFalse();
+    }
+
+    @Test
+    void sameErrorsAsBeanValidationWithGroups() {
+        for (Class<?> group : new Class<?>[]{SaveCheck.class, UpdateCheck.class}) {
+            assertSameErrors(item(null, " ", 0, 10000), group);
+            assertSameErrors(item(1L, null, null, null), group);
+            assertSameErrors(item(1L, "itemA", 1000000, 100000), group);   // 수량 최대 9999는 SaveCheck에만 적용
+            assertSameErrors(item(1L, "itemA", 10000, 10), group);
+        }
+        // 그룹을 지정하지 않으면(Default) 적용되는 제약 조건 없음
+        assertSameErrors(item(null, " ", 0, 10000));
+    }
+
+    @Test
+    void failFast() {
+        CompiledBeanValidator failFastValidator = new CompiledBeanValidator(factory, true);
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm(" ", 0, 10000), "item");
+
+        failFastValidator.validate(bindingResult.getTarget(), bindingResult);
+
+        // 필드 선언 순서대로 검사하고 첫 오류에서 멈춤
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(bindingResult.getFieldError().getField()).isEqualTo("itemName");
+    }
+
+    @Test
+    void sameErrorsAsBeanValidation() {
+        assertSameErrors(saveForm("itemA", 10000, 10));
+        assertSameErrors(saveForm(" ", 0, 10000));
+        assertSameErrors(saveForm(null, null, null));
+        assertSameErrors(saveForm("itemA", 1000001, 9999));
+        assertSameErrors(updateForm(null, "", 999, null));
+        assertSameErrors(updateForm(1L, "itemA", 1000000, 100000));
+    }
+
+    @Test
+    void skipBindingFailureField() {
+        //given
+        ItemSaveForm form = saveForm("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                bindingResult.resolveMessageCodes("typeMismatch", "price"), null, null));
+
+        //when
+        compiledValidator.validate(form, bindingResult);
+
+        //then
+        // 타입 변환에 실패한 필드는 @NotNull 오류를 추가하지 않음
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("typeMismatch");
+    }
+
+    private void assertSameErrors(Object form, Object... groups) {
+        BindingResult expected = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, expected, groups);
+        BindingResult actual = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, actual, groups);
+
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+    }
+
+    /**
+     * 오류 순서는 Hibernate Validator가 보장하지 않으므로 정렬해서 비교
+     */
+    private static List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + " " + Arrays.toString(error.getCodes()) + " " + Arrays.toString(error.getArguments())
+                        + " " + error.getRejectedValue() + " " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static ItemUpdateForm updateForm(Long id, String itemName, Integer price, Integer quantity) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(id);
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,48 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CrossFieldRuleTest {
+
+    @Test
+    void totalPriceMin() {
+        //given
+        Item item = new Item("itemA", 1000, 9);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        boolean valid = ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult);
+
+        //then : 컨트롤러에서 직접 reject 하던 것과 같은 코드, 인자
+        assertThat(valid).isFalse();
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(error.getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000, 9000);
+    }
+
+    @Test
+    void skipWhenFieldIsNull() {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setPrice(1000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        assertThat(ItemRules.TOTAL_PRICE_MIN.validate(form, bindingResult)).isTrue();
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void noIntOverflow() {
+        // int로 곱하면 1,000,000 * 9,999는 음수가 되어 최솟값 미만으로 잘못 판단됨
+        Item item = new Item("itemA", 1000000, 9999);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        assertThat(ItemRules.TOTAL_PRICE_MIN.validate(item, bindingResult)).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemApiCodecTest {
+
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void cborRequestAndResponse() throws Exception {
+        //given
+        byte[] body = cborMapper.writeValueAsBytes(form("itemA", 10000, 10));
+
+        //when
+        MockHttpServletResponse response = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andReturn().getResponse();
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        ItemSaveForm saved = cborMapper.readValue(response.getContentAsByteArray(), ItemSaveForm.class);
+        assertThat(saved).isEqualTo(form("itemA", 10000, 10));
+    }
+
+    @Test
+    void smileValidationErrors() throws Exception {
+        byte[] body = smileMapper.writeValueAsBytes(form("itemA", 0, 10));
+
+        MockHttpServletResponse response = mockMvc.perform(post("/validation/api/items/add")
+                        .param("errors", "compact")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(body))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentType()).startsWith(SMILE.toString());
+        JsonNode errors = smileMapper.readTree(response.getContentAsByteArray()).get("errors");
+        assertThat(errors.get(0).get("field").asText()).isEqualTo("price");
+        assertThat(errors.get(0).get("code").asText()).isEqualTo("Range");
+    }
+
+    @Test
+    void jsonStillDefault() throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(form("itemA", 10000, 10));
+
+        MockHttpServletResponse response = mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).contains("\"itemName\":\"itemA\"");
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
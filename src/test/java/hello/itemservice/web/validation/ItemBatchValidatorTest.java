@@ -0,0 +1,65 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBatchValidatorTest {
+
+    ItemSaveFormValidator itemSaveFormValidator = new ItemSaveFormValidator(Validation.buildDefaultValidatorFactory().getValidator());
+    ItemBatchValidator sequential = new ItemBatchValidator(itemSaveFormValidator, new CachingMessageCodesResolver(), 1);
+    ItemBatchValidator parallel = new ItemBatchValidator(itemSaveFormValidator, new CachingMessageCodesResolver(), 4);
+
+    @AfterEach
+    void afterEach() {
+        sequential.close();
+        parallel.close();
+    }
+
+    @Test
+    void sameResultAsSequential() {
+        //given
+        List<ItemSaveForm> forms = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            forms.add(form(i % 7 == 0 ? " " : "item" + i, i % 5 == 0 ? 100 : 1000 + i, i % 11 == 0 ? 1 : 10));
+        }
+        forms.add(null);
+
+        //when
+        BindingResult[] expected = sequential.validate(forms);
+        BindingResult[] actual = parallel.validate(forms);
+
+        //then
+        assertThat(actual).hasSize(forms.size());
+        for (int i = 0; i < forms.size(); i++) {
+            assertThat(describe(actual[i])).as("index %d", i).isEqualTo(describe(expected[i]));
+        }
+        assertThat(actual[0].getFieldError("price")).isNotNull();           // 가격 100
+        assertThat(actual[1].hasErrors()).isFalse();
+        assertThat(actual[forms.size() - 1].getFieldErrorCount()).isEqualTo(3);   // null 요소
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,152 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBulkImporterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemBulkImporter importer = new ItemBulkImporter(itemRepository,
+            new ItemSaveFormValidator(Validation.buildDefaultValidatorFactory().getValidator()),
+            messageSource(), objectMapper, new CachingMessageCodesResolver());
+
+    @Test
+    void importJson() throws IOException {
+        //given
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                + "{\"itemName\":\"itemB\",\"price\":100,\"quantity\":10},"
+                + "{\"itemName\":\"itemC\",\"price\":\"abc\",\"quantity\":10}]";
+
+        //when
+        List<JsonNode> lines = importJson(body);
+
+        //then
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(itemRepository.findAll().get(0).getId());
+        assertThat(lines.get(1).get("errors").get(0).get("code").asText()).isEqualTo("Range");
+        assertThat(lines.get(2).get("errors").get(0).get("code").asText()).isEqualTo("typeMismatch");
+        assertThat(lines.get(3).get("saved").asInt()).isEqualTo(1);
+        assertThat(lines.get(3).get("failed").asInt()).isEqualTo(2);
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void importJsonWithNonObjectElement() throws IOException {
+        //given
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                + "5,[1,2],"
+                + "{\"itemName\":\"itemB\",\"price\":20000,\"quantity\":10}]";
+
+        //when
+        List<JsonNode> lines = importJson(body);
+
+        //then : 객체가 아닌 원소는 그 행만 실패하고 뒤 행도 계속 처리
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(1).get("errors").get(0).get("code").asText()).isEqualTo("notObject");
+        assertThat(lines.get(2).get("errors").get(0).get("code").asText()).isEqualTo("notObject");
+        assertThat(lines.get(3).has("id")).isTrue();
+        assertThat(lines.get(4).get("saved").asInt()).isEqualTo(2);
+        assertThat(lines.get(4).get("failed").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void importJsonWithUnclosedArray() throws IOException {
+        //when
+        List<JsonNode> lines = importJson("[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}");
+
+        //then : 읽은 행은 저장하고 오류 한 줄을 남김
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).has("id")).isTrue();
+        assertThat(lines.get(1).has("error")).isTrue();
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void importJsonParsesNumbersLikeFormBinding() throws IOException {
+        //given : 폼 바인딩과 같이 공백은 모두 제거하고, 범위를 넘으면 typeMismatch
+        String body = "[{\"itemName\":\"itemA\",\"price\":\" 10 000 \",\"quantity\":\"10\"},"
+                + "{\"itemName\":\"itemB\",\"price\":\"99999999999\",\"quantity\":10}]";
+
+        //when
+        List<JsonNode> lines = importJson(body);
+
+        //then
+        assertThat(lines.get(0).has("id")).isTrue();
+        assertThat(itemRepository.findAll().get(0).getPrice()).isEqualTo(10000);
+        assertThat(lines.get(1).get("errors").get(0).get("code").asText()).isEqualTo("typeMismatch");
+    }
+
+    @Test
+    void importCsv() throws IOException {
+        //given
+        String body = "itemName,price,quantity\n"
+                + "itemA,10000,10\n"
+                + "\"item, B\",1000,1\n";   // 1000 * 1 < 10000
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importCsv(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, Locale.KOREA);
+        List<JsonNode> lines = readLines(out);
+
+        //then
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).has("id")).isTrue();
+        assertThat(lines.get(1).get("errors").get(0).get("code").asText()).isEqualTo("totalPriceMin");
+    }
+
+    @Tag("benchmark")
+    @Test
+    void throughput() throws IOException {
+        int itemCount = 200_000;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < itemCount; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"itemName\":\"item").append(i).append("\",\"price\":").append(1000 + i % 10000)
+                    .append(",\"quantity\":").append(10 + i % 100).append('}');
+        }
+        body.append(']');
+
+        List<JsonNode> lines = importJson(body.toString());
+
+        JsonNode summary = lines.get(lines.size() - 1);
+        System.out.println("bulk import " + summary);
+        assertThat(summary.get("total").asInt()).isEqualTo(itemCount);
+    }
+
+    private List<JsonNode> importJson(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importJson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, Locale.KOREA);
+        return readLines(out);
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream out) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        return messageSource;
+    }
+}
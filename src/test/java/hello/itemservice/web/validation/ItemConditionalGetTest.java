@@ -0,0 +1,146 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void itemNotModified() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        String url = "/validation/v4/items/" + item.getId();
+        MockHttpServletResponse first = mockMvc.perform(get(url)).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        MockHttpServletResponse second = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 10));
+        MockHttpServletResponse third = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse();
+
+        //then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getContentAsString()).isEmpty();
+        assertThat(third.getStatus()).isEqualTo(200);
+        assertThat(third.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(third.getContentAsString()).contains("itemB");
+    }
+
+    @Test
+    void listNotModifiedInAllControllers() throws Exception {
+        itemRepository.save(new Item("itemA", 10000, 10));
+        for (String version : new String[]{"v1", "v2", "v3", "v4"}) {
+            String url = "/validation/" + version + "/items";
+            String etag = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            assertThat(mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn().getResponse().getStatus())
+                    .as(url).isEqualTo(304);
+            // 다른 언어는 다른 표현
+            assertThat(mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag).locale(Locale.KOREAN))
+                    .andReturn().getResponse().getStatus()).as(url).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void varyByAcceptLanguage() throws Exception {
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        for (String version : new String[]{"v1", "v2", "v3", "v4"}) {
+            for (String url : new String[]{"/validation/" + version + "/items", "/validation/" + version + "/items/" + item.getId()}) {
+                MockHttpServletResponse first = mockMvc.perform(get(url)).andReturn().getResponse();
+                MockHttpServletResponse notModified = mockMvc.perform(get(url)
+                        .header(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG))).andReturn().getResponse();
+
+                // 304 응답에도 같은 Vary
+                assertThat(first.getHeaders(HttpHeaders.VARY)).as(url).contains(HttpHeaders.ACCEPT_LANGUAGE);
+                assertThat(notModified.getStatus()).as(url).isEqualTo(304);
+                assertThat(notModified.getHeaders(HttpHeaders.VARY)).as(url).contains(HttpHeaders.ACCEPT_LANGUAGE);
+            }
+        }
+    }
+
+    @Test
+    void pageListAndFullListHaveDifferentETags() throws Exception {
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        MockHttpServletResponse page = mockMvc.perform(get("/validation/v4/items")).andReturn().getResponse();
+        MockHttpServletResponse all = mockMvc.perform(get("/validation/v4/items/all")).andReturn().getResponse();
+
+        assertThat(all.getHeader(HttpHeaders.ETAG)).isNotEqualTo(page.getHeader(HttpHeaders.ETAG));
+        assertThat(all.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_LANGUAGE);
+        // 목록 ETag로는 전체 목록이 304가 되지 않음
+        assertThat(mockMvc.perform(get("/validation/v4/items/all").header(HttpHeaders.IF_NONE_MATCH, page.getHeader(HttpHeaders.ETAG)))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * 대시보드 5개가 목록과 상품 상세를 200번씩 폴링하고, 20번마다 그 상품을 수정
+     * ETag가 없으면 2000번 모두 렌더링, 있으면 대시보드/URL마다 처음 한 번 + 수정 9번만 렌더링(100번)
+     */
+    @Test
+    void pollingWorkload() throws Exception {
+        //given
+        int dashboards = 5;
+        int rounds = 200;
+        int updateEvery = 20;
+        Item item = itemRepository.save(new Item("polled", 10000, 10));
+        String[] urls = {"/validation/v4/items", "/validation/v4/items/" + item.getId()};
+        Map<String, String> etags = new HashMap<>();
+
+        //when
+        int polls = 0;
+        int renders = 0;
+        for (int round = 0; round < rounds; round++) {
+            if (round > 0 && round % updateEvery == 0) {
+                itemRepository.update(item.getId(), new Item("polled", 10000 + round, 10));
+            }
+            for (int dashboard = 0; dashboard < dashboards; dashboard++) {
+                for (String url : urls) {
+                    String key = dashboard + url;
+                    MockHttpServletRequestBuilder request = get(url);
+                    if (etags.containsKey(key)) {
+                        request.header(HttpHeaders.IF_NONE_MATCH, etags.get(key));
+                    }
+                    MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+                    polls++;
+                    if (response.getStatus() == 200) {
+                        renders++;
+                        etags.put(key, response.getHeader(HttpHeaders.ETAG));
+                    } else {
+                        assertThat(response.getStatus()).isEqualTo(304);
+                    }
+                }
+            }
+        }
+
+        //then
+        int changes = 1 + (rounds - 1) / updateEvery;
+        System.out.printf("polls = %d, renders = %d (%.1f%% saved)%n", polls, renders, 100.0 * (polls - renders) / polls);
+        assertThat(polls).isEqualTo(2000);
+        assertThat(renders).isEqualTo(dashboards * urls.length * changes);
+    }
+}
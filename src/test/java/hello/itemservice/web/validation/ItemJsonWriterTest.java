@@ -0,0 +1,86 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemJsonWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemJsonWriter writer = new ItemJsonWriter(objectMapper);
+    ItemRepository itemRepository = new MemoryItemRepository();
+
+    @Test
+    void writeAllFields() throws IOException {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeItem(item, ItemField.parse(null), out);
+
+        //then 필드 순서 고정
+        assertThat(out.toString()).isEqualTo(
+                "{\"id\":" + item.getId() + ",\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10,\"version\":1}");
+        assertThat(objectMapper.readValue(out.toByteArray(), Item.class)).isEqualTo(item);
+    }
+
+    @Test
+    void projection() throws IOException {
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeItem(item, ItemField.parse("price, id,price"), out);
+
+        assertThat(out.toString()).isEqualTo("{\"id\":" + item.getId() + ",\"price\":10000}");
+    }
+
+    @Test
+    void unknownField() {
+        assertThatThrownBy(() -> ItemField.parse("id,password"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void writePage() throws IOException {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.save(new Item("itemC", 30000, 30));
+        ItemPage page = itemRepository.findPage(null, 2);
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writePage(page, ItemField.parse("itemName"), out);
+
+        //then
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertThat(json.get("items")).hasSize(2);
+        assertThat(json.get("items").get(1).toString()).isEqualTo("{\"itemName\":\"itemB\"}");
+        assertThat(json.get("nextId").asLong()).isEqualTo(itemB.getId());
+    }
+
+    @Test
+    void writeItemsFromIterator() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeItems(itemRepository.iterator(2), ItemField.parse("itemName"), out);
+
+        assertThat(out.toString()).isEqualTo("[{\"itemName\":\"item0\"},{\"itemName\":\"item1\"},{\"itemName\":\"item2\"},"
+                + "{\"itemName\":\"item3\"},{\"itemName\":\"item4\"}]");
+    }
+}
@@ -0,0 +1,135 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 전체 상품 목록 : 한 번에 렌더링(findAll + 전체 렌더링 후 전송) vs ItemListStreamer(청크 단위 flush)
+ * 첫 바이트까지 걸린 시간, 전체 시간, 렌더링 중 살아있는 힙(저장소 자체 제외)을 비교(./gradlew benchmarkTest 로 실행)
+ * 힙은 1, 2, 4, 8 ... 번째 flush 때 GC 후 사용량의 최댓값(한 번에 렌더링은 한 번만 flush 하므로 다 만든 뒤 한 번)
+ */
+@Tag("benchmark")
+class ItemListStreamScalingTest {
+
+    private static final int CHUNK_SIZE = 500;
+
+    SpringTemplateEngine templateEngine = ItemListStreamerTest.templateEngine();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void bufferedVsStreamed(int itemCount) throws IOException {
+        //given
+        ItemRepository repository = new MemoryItemRepository();
+        for (int i = 0; i < itemCount; i++) {
+            repository.save(new Item("item" + i, 1000 + (i % 1000000), i % 9999));
+        }
+        ItemListStreamer streamer = new ItemListStreamer(templateEngine, repository, CHUNK_SIZE);
+
+        //when
+        ClientStream buffered = new ClientStream(usedHeap());
+        writeBuffered(repository, buffered);
+        ClientStream streamed = new ClientStream(usedHeap());
+        streamer.stream(Locale.KOREA, request, response).writeTo(streamed);
+
+        //then
+        System.out.printf("items = %,d%n", itemCount);
+        buffered.print("buffered");
+        streamed.print("streamed");
+        assertThat(streamed.bytes).isEqualTo(buffered.bytes);
+        repository.clearStore();    // 측정이 끝날 때까지 repository가 살아있도록
+    }
+
+    /**
+     * 페이지로 나누지 않은 목록을 기존 방식(모델에 전체 List<Item>, 템플릿 전체를 버퍼에 렌더링)으로 보냈을 때
+     */
+    private void writeBuffered(ItemRepository repository, OutputStream out) throws IOException {
+        WebContext context = new WebContext(request, response, request.getServletContext(), Locale.KOREA);
+        context.setVariable("contextPath", request.getContextPath());
+        String page = templateEngine.process(ItemListStreamer.PAGE_TEMPLATE, context);
+        int marker = page.indexOf(ItemListStreamer.ROWS_MARKER);
+
+        context.setVariable("items", repository.findAll());
+        StringWriter html = new StringWriter();
+        html.write(page, 0, marker);
+        templateEngine.process(ItemRowCache.ROW_TEMPLATE, Set.of("rows"), context, html);
+        html.write(page, marker + ItemListStreamer.ROWS_MARKER.length(), page.length() - marker - ItemListStreamer.ROWS_MARKER.length());
+
+        out.write(html.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * 클라이언트 대신 받는 쪽 : 바이트는 버리고 첫 바이트 시간, 전체 시간, flush 시점의 힙만 기록
+     */
+    private static class ClientStream extends OutputStream {
+
+        private final long baselineHeap;
+        private final long start = System.nanoTime();
+        private long firstByte = -1;
+        private long lastFlush;
+        private long gcNanos;
+        private long bytes;
+        private int flushes;
+        private long peakHeap;
+
+        ClientStream(long baselineHeap) {
+            this.baselineHeap = baselineHeap;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (firstByte < 0) {
+                firstByte = System.nanoTime();
+            }
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+            if (Integer.bitCount(flushes) == 1) {
+                long gcStart = System.nanoTime();
+                peakHeap = Math.max(peakHeap, usedHeap() - baselineHeap);
+                gcNanos += System.nanoTime() - gcStart;     // 측정용 GC 시간은 전체 시간에서 뺌
+            }
+            lastFlush = System.nanoTime();
+        }
+
+        void print(String name) {
+            System.out.printf("  %-8s : first byte = %,d us, total = %,d ms, live heap = %,d KB, %,d bytes in %,d flushes%n",
+                    name, (firstByte - start) / 1000, (lastFlush - start - gcNanos) / 1_000_000, peakHeap / 1024, bytes, flushes);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,115 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemListStreamerTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemListStreamer streamer = new ItemListStreamer(templateEngine(), itemRepository, 2);
+
+    @Test
+    void streamAllItemsInChunks() throws Exception {
+        //given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(itemRepository.save(new Item("item" + i, 10000 + i, 10)));
+        }
+        FlushRecorder out = new FlushRecorder();
+
+        //when
+        streamer.stream(Locale.KOREA, new MockHttpServletRequest(), new MockHttpServletResponse()).writeTo(out);
+
+        //then 틀 앞부분 1번 + 청크 3번(2, 2, 1) + 틀 뒷부분 1번
+        assertThat(out.flushes).isEqualTo(5);
+        assertThat(out.chunks.get(0)).contains("<table").doesNotContain("<td>");
+        assertThat(out.chunks.get(3)).contains(">item4<").doesNotContain(">item3<");
+        String html = out.toString(StandardCharsets.UTF_8);
+        assertThat(html).doesNotContain(ItemListStreamer.ROWS_MARKER).endsWith("</html>");
+        int last = -1;
+        for (Item item : items) {
+            int index = html.indexOf("href=\"/validation/v4/items/" + item.getId() + "\"");
+            assertThat(index).isGreaterThan(last);
+            last = index;
+        }
+    }
+
+    @Test
+    void rowsDoNotDependOnResponse() throws Exception {
+        //given : 쿠키 없는 클라이언트처럼 응답이 URL에 세션 id를 붙이는 경우
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/shop");
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public String encodeURL(String url) {
+                return url + ";jsessionid=abc";
+            }
+        };
+        FlushRecorder out = new FlushRecorder();
+
+        //when
+        streamer.stream(Locale.KOREA, request, response).writeTo(out);
+
+        //then : 행은 contextPath만으로 링크를 만듦
+        assertThat(out.chunks.get(1))
+                .contains("href=\"/shop/validation/v4/items/" + item.getId() + "\"")
+                .doesNotContain(";jsessionid");
+    }
+
+    @Test
+    void emptyStore() throws Exception {
+        FlushRecorder out = new FlushRecorder();
+
+        streamer.stream(Locale.KOREA, new MockHttpServletRequest(), new MockHttpServletResponse()).writeTo(out);
+
+        assertThat(out.flushes).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("</tbody>").doesNotContain("<td>");
+    }
+
+    /**
+     * flush 할 때마다 그때까지 받은 내용을 한 청크로 기록
+     */
+    static class FlushRecorder extends ByteArrayOutputStream {
+
+        int flushes;
+        final List<String> chunks = new ArrayList<>();
+        private int flushed;
+
+        @Override
+        public void flush() {
+            flushes++;
+            chunks.add(new String(buf, flushed, count - flushed, StandardCharsets.UTF_8));
+            flushed = count;
+        }
+    }
+
+    static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCharacterEncoding("UTF-8");
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        return templateEngine;
+    }
+}
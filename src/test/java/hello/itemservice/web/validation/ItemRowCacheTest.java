@@ -0,0 +1,126 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemRowCacheTest {
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ItemRowCache cache = new ItemRowCache(templateEngine(), itemRepository, 2);
+
+    @Test
+    void renderOnceThenHit() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when
+        List<String> first = render(Locale.KOREA);
+        List<String> second = render(Locale.KOREA);
+
+        //then
+        assertThat(first.get(0))
+                .startsWith("<tr>")
+                .contains("href=\"/validation/v4/items/" + itemA.getId() + "\"")
+                .contains(">itemA<")
+                .contains("<td>10000</td>");
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateInvalidatesOnlyThatItem() {
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        render(Locale.KOREA);
+
+        itemRepository.update(itemA.getId(), new Item("itemA2", 10000, 10));
+        List<String> rows = render(Locale.KOREA);
+
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(rows.get(0)).contains(">itemA2<");
+    }
+
+    @Test
+    void localeIsPartOfKey() {
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        render(Locale.KOREA);
+        render(Locale.ENGLISH);
+        render(Locale.ENGLISH);
+
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        //given 최대 2개
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 10000, 10));
+        Item itemC = itemRepository.save(new Item("itemC", 10000, 10));
+
+        //when
+        cache.render(List.of(itemA, itemB), Locale.KOREA, "");
+        cache.render(List.of(itemA), Locale.KOREA, "");     // B가 가장 오래 안 쓴 상품
+        cache.render(List.of(itemC), Locale.KOREA, "");
+        cache.render(List.of(itemA), Locale.KOREA, "");
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        cache.render(List.of(itemB), Locale.KOREA, "");
+        assertThat(cache.getMissCount()).isEqualTo(4);
+    }
+
+    @Test
+    void linksUseContextPathOnly() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        List<String> rows = cache.render(List.of(item), Locale.KOREA, "/shop");
+
+        //then : 응답을 거치지 않으므로 세션 id(;jsessionid=)가 붙지 않음
+        assertThat(rows.get(0))
+                .contains("href=\"/shop/validation/v4/items/" + item.getId() + "\"")
+                .doesNotContain(";jsessionid");
+    }
+
+    @Test
+    void clearStoreInvalidatesAll() {
+        itemRepository.save(new Item("itemA", 10000, 10));
+        render(Locale.KOREA);
+
+        itemRepository.clearStore();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private List<String> render(Locale locale) {
+        return cache.render(itemRepository.findAll(), locale, "");
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        return templateEngine;
+    }
+}
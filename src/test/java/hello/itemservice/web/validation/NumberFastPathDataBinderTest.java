@@ -0,0 +1,81 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NumberFastPathDataBinderTest {
+
+    static final String[] VALUES = {
+            "abc", "12abc", "1e3", "-", "+", "+-5", "--1", "00x1",             // 숫자가 아님
+            "99999999999", "2147483648", "-2147483649", "9223372036854775808",  // 범위 초과
+            "1000", " 1 000 ", "+5", "-2147483648", "١٢",              // 숫자
+            "", " ", "0x10", "#1"};                                              // 빈 값, 16진수
+
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+
+    @Test
+    void sameErrorsAsDefaultBinder() {
+        for (String value : VALUES) {
+            assertSameBinding(ItemSaveForm::new, "item", value);
+            assertSameBinding(ItemUpdateForm::new, "item", value);
+            assertSameBinding(Item::new, "item", value);
+        }
+    }
+
+    @Test
+    void typeMismatchError() {
+        ItemSaveForm form = new ItemSaveForm();
+        BindingResult bindingResult = bind(new NumberFastPathDataBinder(form, "item"), request("itemA", "abc", "10"));
+
+        assertThat(bindingResult.getFieldError("price").getCodes())
+                .containsExactly("typeMismatch.item.price", "typeMismatch.price", "typeMismatch.java.lang.Integer", "typeMismatch");
+        assertThat(bindingResult.getFieldError("price").isBindingFailure()).isTrue();
+        assertThat(bindingResult.getFieldValue("price")).isEqualTo("abc");
+        assertThat(form.getItemName()).isEqualTo("itemA");
+        assertThat(form.getPrice()).isNull();
+        assertThat(form.getQuantity()).isEqualTo(10);
+    }
+
+    private void assertSameBinding(Supplier<Object> target, String objectName, String value) {
+        MockHttpServletRequest request = request("itemA", value, value);
+        request.addParameter("id", value);
+        request.addParameter("version", value);
+
+        Object expectedTarget = target.get();
+        Object actualTarget = target.get();
+        BindingResult expected = bind(new ExtendedServletRequestDataBinder(expectedTarget, objectName), request);
+        BindingResult actual = bind(new NumberFastPathDataBinder(actualTarget, objectName), request);
+
+        assertThat(actual.getAllErrors()).as("value [%s] %s", value, expectedTarget.getClass().getSimpleName())
+                .isEqualTo(expected.getAllErrors());
+        assertThat(actualTarget).isEqualTo(expectedTarget);
+        for (String field : new String[]{"price", "quantity"}) {
+            assertThat(actual.getFieldValue(field)).isEqualTo(expected.getFieldValue(field));
+        }
+    }
+
+    private BindingResult bind(ServletRequestDataBinder binder, MockHttpServletRequest request) {
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+
+    private static MockHttpServletRequest request(String itemName, String price, String quantity) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/v4/items/add");
+        request.addParameter("itemName", itemName);
+        request.addParameter("price", price);
+        request.addParameter("quantity", quantity);
+        return request;
+    }
+}